@@ -0,0 +1,55 @@
+#!/usr/bin/env bash
+#
+# Compares startup time and resident memory of the JVM jar, the CDS-enabled jar and the native image.
+# Build the variants first:
+#   ./mvnw -DskipTests package                  -> target/API-VALIDATION-0.0.1-SNAPSHOT.jar
+#   ./mvnw -DskipTests -Pcds package            -> target/cds/ (extracted jar + application.jsa)
+#   ./mvnw -DskipTests -Pnative native:compile  -> target/API-VALIDATION (needs GraalVM)
+# Any extra arguments are passed to the application, e.g. --spring.datasource.url=...
+# Missing variants are skipped.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${RUNS:-5}
+NAME=API-VALIDATION-0.0.1-SNAPSHOT
+APP_ARGS=("$@")
+
+measure() {
+    local label=$1
+    shift
+    local total_ms=0 total_rss=0
+    for ((i = 1; i <= RUNS; i++)); do
+        local log
+        log=$(mktemp)
+        "$@" "${APP_ARGS[@]}" --server.port=0 >"$log" 2>&1 &
+        local pid=$!
+        until grep -q "Started ApiValidationApplication" "$log"; do
+            if ! kill -0 "$pid" 2>/dev/null; then
+                echo "$label: application exited, see $log" >&2
+                return 1
+            fi
+            sleep 0.05
+        done
+        local seconds rss
+        seconds=$(grep -o "Started ApiValidationApplication in [0-9.]* seconds" "$log" | grep -o "[0-9.]*" | head -1)
+        rss=$(awk '/VmRSS/ { print $2 }' "/proc/$pid/status")
+        kill "$pid"
+        wait "$pid" 2>/dev/null || true
+        rm -f "$log"
+        total_ms=$((total_ms + $(awk -v s="$seconds" 'BEGIN { printf "%d", s * 1000 }')))
+        total_rss=$((total_rss + rss))
+    done
+    printf "%-8s startup %6d ms   rss %6d MB   (mean of %d runs)\n" "$label" $((total_ms / RUNS)) $((total_rss / RUNS / 1024)) "$RUNS"
+}
+
+if [[ -f target/$NAME.jar ]]; then
+    measure jvm java -jar "target/$NAME.jar"
+fi
+if [[ -f target/cds/application.jsa ]]; then
+    measure cds java -XX:SharedArchiveFile=target/cds/application.jsa -jar "target/cds/$NAME.jar"
+fi
+if [[ -x target/API-VALIDATION ]]; then
+    measure native target/API-VALIDATION
+fi
@@ -0,0 +1,57 @@
+package com.api.cache;
+
+import com.api.model.event.AggregateType;
+
+/**
+ * Announces that the cached state of an entity older than {@code version} must be dropped.
+ */
+public class CacheInvalidation {
+
+    private final AggregateType type;
+
+    private final Long id;
+
+    private final long version;
+
+    public CacheInvalidation(AggregateType type, Long id, long version) {
+        this.type = type;
+        this.id = id;
+        this.version = version;
+    }
+
+    public AggregateType getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Encodes the invalidation as {@code TYPE:id:version}.
+     *
+     * @return  the compact text form
+     */
+    public String encode() {
+        return type.name() + ':' + id + ':' + version;
+    }
+
+    /**
+     * Parses the form produced by {@link #encode()}.
+     *
+     * @param  text  the encoded invalidation
+     * @return       the invalidation
+     * @throws IllegalArgumentException  if the text is malformed
+     */
+    public static CacheInvalidation decode(String text) {
+        String[] parts = text.split(":");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed cache invalidation: " + text);
+        }
+        return new CacheInvalidation(AggregateType.valueOf(parts[0]), Long.valueOf(parts[1]), Long.parseLong(parts[2]));
+    }
+}
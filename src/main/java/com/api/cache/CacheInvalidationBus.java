@@ -0,0 +1,135 @@
+package com.api.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.api.model.event.AggregateType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Keeps the entity caches of every node coherent. Writes announce the entities they changed; the
+ * invalidations are published through the {@link InvalidationTransport} as the transaction commits and
+ * applied to the local caches right after it, then on every other node when they arrive. Invalidations
+ * older than one already applied are dropped, and all caches are flushed whenever the transport
+ * (re)connects, since anything sent in between was missed. Caches are only enabled while the transport
+ * is connected.
+ */
+@Component
+public class CacheInvalidationBus implements InvalidationTransport.Listener {
+
+    @Autowired
+    private InvalidationTransport transport;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<AggregateType, VersionedCache<?>> cachesByType = new ConcurrentHashMap<>();
+
+    private Counter applied;
+
+    private Counter outOfOrder;
+
+    private boolean connected;
+
+    @PostConstruct
+    void subscribe() {
+        applied = meterRegistry.counter("api.cache.invalidations", "result", "applied");
+        outOfOrder = meterRegistry.counter("api.cache.invalidations", "result", "out-of-order");
+        transport.subscribe(this);
+    }
+
+    /**
+     * Routes the invalidations of an entity type to a cache.
+     *
+     * @param  type   the kind of entity
+     * @param  cache  the cache holding that kind of entity
+     */
+    public synchronized void register(AggregateType type, VersionedCache<?> cache) {
+        cachesByType.put(type, cache);
+        cache.setEnabled(connected);
+    }
+
+    /**
+     * Announces a change of an entity. Must be called inside the writing transaction; nothing is sent
+     * if it rolls back.
+     *
+     * @param  type     the kind of entity
+     * @param  id       the entity ID
+     * @param  version  the version written; one past the last version for deletions
+     */
+    public void invalidateAfterCommit(AggregateType type, Long id, long version) {
+        pendingInvalidations().add(new CacheInvalidation(type, id, version));
+    }
+
+    @Override
+    public void onInvalidation(CacheInvalidation invalidation) {
+        VersionedCache<?> cache = cachesByType.get(invalidation.getType());
+        if (cache == null) {
+            return;
+        }
+        if (cache.invalidate(invalidation.getId(), invalidation.getVersion())) {
+            applied.increment();
+        } else {
+            outOfOrder.increment();
+        }
+    }
+
+    @Override
+    public synchronized void onConnected() {
+        connected = true;
+        for (VersionedCache<?> cache : cachesByType.values()) {
+            cache.clear();
+            cache.setEnabled(true);
+        }
+    }
+
+    @Override
+    public synchronized void onDisconnected() {
+        connected = false;
+        for (VersionedCache<?> cache : cachesByType.values()) {
+            cache.setEnabled(false);
+            cache.clear();
+        }
+    }
+
+    /**
+     * Returns the invalidations collected by the current transaction, registering the synchronization
+     * that publishes them on the first call.
+     */
+    @SuppressWarnings("unchecked")
+    private List<CacheInvalidation> pendingInvalidations() {
+        List<CacheInvalidation> pending = (List<CacheInvalidation>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        List<CacheInvalidation> invalidations = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, invalidations);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                transport.publish(CacheInvalidationBus.this, invalidations);
+            }
+
+            @Override
+            public void afterCommit() {
+                invalidations.forEach(CacheInvalidationBus.this::onInvalidation);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationBus.this);
+            }
+        });
+        return invalidations;
+    }
+}
@@ -0,0 +1,48 @@
+package com.api.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Delivers invalidations to the subscribers of this JVM only. The default, for single-node setups and
+ * tests; several buses subscribed to one instance behave like a cluster.
+ */
+@Component
+@ConditionalOnProperty(prefix = "api.cache.invalidation", name = "transport", havingValue = "memory", matchIfMissing = true)
+public class InMemoryInvalidationTransport implements InvalidationTransport {
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(Listener origin, List<CacheInvalidation> invalidations) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(origin, invalidations);
+                }
+            });
+        } else {
+            deliver(origin, invalidations);
+        }
+    }
+
+    @Override
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+        listener.onConnected();
+    }
+
+    private void deliver(Listener origin, List<CacheInvalidation> invalidations) {
+        for (Listener listener : listeners) {
+            if (listener != origin) {
+                invalidations.forEach(listener::onInvalidation);
+            }
+        }
+    }
+}
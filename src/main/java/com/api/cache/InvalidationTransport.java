@@ -0,0 +1,42 @@
+package com.api.cache;
+
+import java.util.List;
+
+/**
+ * Carries cache invalidations between the nodes of the cluster.
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Sends invalidations to every other node. The publishing node applies them itself after the commit,
+     * so they must not be delivered back to it. Called just before the writing transaction commits;
+     * implementations must deliver them only if it does commit.
+     *
+     * @param  origin         the listener of the publishing node
+     * @param  invalidations  the invalidations of one transaction
+     */
+    void publish(Listener origin, List<CacheInvalidation> invalidations);
+
+    /**
+     * Registers the receiver of invalidations published by any node.
+     *
+     * @param  listener  the receiver
+     */
+    void subscribe(Listener listener);
+
+    interface Listener {
+
+        void onInvalidation(CacheInvalidation invalidation);
+
+        /**
+         * Called when the transport starts receiving, including after a reconnect. Invalidations sent
+         * while disconnected are lost, so everything cached must be dropped.
+         */
+        void onConnected();
+
+        /**
+         * Called when the transport stops receiving; cached values can no longer be trusted.
+         */
+        void onDisconnected();
+    }
+}
@@ -0,0 +1,78 @@
+package com.api.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Bounded in-process cache. When full, an arbitrary entry is dropped to make room, which is
+ * close enough to random eviction and keeps reads lock-free.
+ *
+ * @param <K> the key type
+ * @param <V> the value type; cached values are shared between callers and must not be modified
+ */
+public class LocalCache<K, V> {
+
+    private final Map<K, V> entries = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+
+    public LocalCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public V get(K key) {
+        return entries.get(key);
+    }
+
+    public void put(K key, V value) {
+        makeRoomFor(key);
+        entries.put(key, value);
+    }
+
+    public void evict(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes an entry only if it is still mapped to the given value.
+     *
+     * @param  key       the key to evict
+     * @param  expected  the value the key must currently map to
+     * @return           true if the entry was removed
+     */
+    public boolean evict(K key, V expected) {
+        return entries.remove(key, expected);
+    }
+
+    /**
+     * Atomically combines a value with the current one, like {@link Map#merge}.
+     *
+     * @param  key       the key to update
+     * @param  value     the value to store if the key is absent, or to combine with the current one
+     * @param  function  combines the current and the given value
+     * @return           the value now associated with the key
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> function) {
+        makeRoomFor(key);
+        return entries.merge(key, value, function);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void makeRoomFor(K key) {
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            Iterator<K> keys = entries.keySet().iterator();
+            if (keys.hasNext()) {
+                entries.remove(keys.next());
+            }
+        }
+    }
+}
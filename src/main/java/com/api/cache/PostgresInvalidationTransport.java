@@ -0,0 +1,217 @@
+package com.api.cache;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carries invalidations over PostgreSQL LISTEN/NOTIFY. Notifications are sent with {@code pg_notify} inside
+ * the writing transaction, so PostgreSQL delivers them exactly when, and only if, it commits. Each payload
+ * starts with the ID of the sending node, and a node ignores its own. Each node holds one connection of
+ * the application pool to LISTEN on, so the pool has one connection fewer for requests; when it breaks,
+ * the listener reports the disconnect, reconnects with backoff and reports the reconnect so the caches
+ * are flushed.
+ */
+@Component
+@ConditionalOnProperty(prefix = "api.cache.invalidation", name = "transport", havingValue = "postgres")
+public class PostgresInvalidationTransport implements InvalidationTransport, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresInvalidationTransport.class);
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    // PostgreSQL rejects NOTIFY payloads of 8000 bytes or more
+    private static final int MAX_PAYLOAD_LENGTH = 7900;
+
+    private static final char NODE_SEPARATOR = '|';
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${api.cache.invalidation.channel:api_cache_invalidation}")
+    private String channel;
+
+    @Value("${api.cache.invalidation.poll-interval-ms:500}")
+    private int pollIntervalMillis;
+
+    @Value("${api.cache.invalidation.heartbeat-interval-ms:10000}")
+    private long heartbeatIntervalMillis;
+
+    @Value("${api.cache.invalidation.max-reconnect-delay-ms:30000}")
+    private long maxReconnectDelayMillis;
+
+    private volatile Listener listener;
+
+    private volatile boolean running;
+
+    private Thread thread;
+
+    @Override
+    public void publish(Listener origin, List<CacheInvalidation> invalidations) {
+        String header = nodeId + NODE_SEPARATOR;
+        StringBuilder payload = new StringBuilder(header);
+        for (CacheInvalidation invalidation : invalidations) {
+            String encoded = invalidation.encode();
+            if (payload.length() > header.length() && payload.length() + 1 + encoded.length() > MAX_PAYLOAD_LENGTH) {
+                notify(payload.toString());
+                payload.setLength(header.length());
+            }
+            if (payload.length() > header.length()) {
+                payload.append(',');
+            }
+            payload.append(encoded);
+        }
+        if (payload.length() > header.length()) {
+            notify(payload.toString());
+        }
+    }
+
+    @Override
+    public void subscribe(Listener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalStateException("Invalid cache invalidation channel name: " + channel);
+        }
+        running = true;
+        thread = new Thread(this::listen, "cache-invalidation-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void notify(String payload) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, channel, payload);
+    }
+
+    private void listen() {
+        long reconnectDelay = pollIntervalMillis;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for cache invalidations on channel {}", channel);
+                dispatchConnected();
+                reconnectDelay = pollIntervalMillis;
+                try {
+                    receive(connection, pgConnection);
+                } finally {
+                    unlisten(connection);
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener disconnected, reconnecting in {} ms", reconnectDelay, e);
+                dispatchDisconnected();
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                reconnectDelay = Math.min(reconnectDelay * 2, maxReconnectDelayMillis);
+            }
+        }
+    }
+
+    private void receive(Connection connection, PGConnection pgConnection) throws SQLException {
+        long lastActivity = System.currentTimeMillis();
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(pollIntervalMillis);
+            long now = System.currentTimeMillis();
+            if (notifications != null && notifications.length > 0) {
+                lastActivity = now;
+                for (PGNotification notification : notifications) {
+                    dispatch(notification.getParameter());
+                }
+            } else if (now - lastActivity >= heartbeatIntervalMillis) {
+                // A silently dropped connection never reports notifications nor errors; probe it
+                try (Statement statement = connection.createStatement()) {
+                    statement.setQueryTimeout(Math.max(1, pollIntervalMillis / 1000));
+                    statement.execute("SELECT 1");
+                }
+                lastActivity = now;
+            }
+        }
+    }
+
+    /**
+     * Stops listening before the connection goes back to the pool, where a request would otherwise
+     * inherit the subscription. A broken connection is discarded by the pool anyway.
+     */
+    private void unlisten(Connection connection) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("UNLISTEN *");
+        } catch (SQLException e) {
+            log.debug("Could not unlisten the cache invalidation connection", e);
+        }
+    }
+
+    private void dispatch(String payload) {
+        Listener current = listener;
+        int separator = payload.indexOf(NODE_SEPARATOR);
+        if (current == null || separator < 0 || payload.startsWith(nodeId + NODE_SEPARATOR)) {
+            return;
+        }
+        for (String encoded : payload.substring(separator + 1).split(",")) {
+            try {
+                current.onInvalidation(CacheInvalidation.decode(encoded));
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring malformed cache invalidation {}", encoded);
+            }
+        }
+    }
+
+    private void dispatchConnected() {
+        Listener current = listener;
+        if (current != null) {
+            current.onConnected();
+        }
+    }
+
+    private void dispatchDisconnected() {
+        Listener current = listener;
+        if (current != null) {
+            current.onDisconnected();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.api.cache;
+
+/**
+ * Entity cache keyed by ID that keeps the version of every cached value and the highest version
+ * announced by invalidations. A value loaded before a newer write was committed is rejected on put,
+ * so a read racing a write on another node cannot re-cache the old state after the invalidation.
+ * The invalidated versions are bounded like the entries; once one is dropped, that protection is
+ * lost for the key until its next invalidation. A new cache is disabled until invalidations can be
+ * received, see {@link CacheInvalidationBus}.
+ *
+ * @param <V> the value type; cached values are shared between callers and must not be modified
+ */
+public class VersionedCache<V> {
+
+    private final LocalCache<Long, Entry<V>> entries;
+
+    private final LocalCache<Long, Long> invalidatedVersions;
+
+    private volatile boolean enabled;
+
+    public VersionedCache(int maxSize) {
+        this.entries = new LocalCache<>(maxSize);
+        this.invalidatedVersions = new LocalCache<>(maxSize);
+    }
+
+    public V get(Long id) {
+        if (!enabled) {
+            return null;
+        }
+        Entry<V> entry = entries.get(id);
+        return entry != null ? entry.value : null;
+    }
+
+    /**
+     * Caches a value unless a newer version of it has already been invalidated.
+     *
+     * @param  id       the entity ID
+     * @param  value    the value to cache
+     * @param  version  the entity version the value was built from
+     */
+    public void put(Long id, V value, long version) {
+        if (!enabled || isStale(id, version)) {
+            return;
+        }
+        Entry<V> entry = new Entry<>(value, version);
+        entries.put(id, entry);
+        // An invalidation may have landed between the check and the put
+        if (isStale(id, version)) {
+            entries.evict(id, entry);
+        }
+    }
+
+    /**
+     * Evicts the cached value of an entity if it is older than the given version.
+     *
+     * @param  id       the entity ID
+     * @param  version  the version written by the change; one past the last version for deletions
+     * @return          false if an invalidation with this or a newer version was already applied
+     */
+    public boolean invalidate(Long id, long version) {
+        Long previous = invalidatedVersions.get(id);
+        if (previous != null && previous >= version) {
+            return false;
+        }
+        invalidatedVersions.merge(id, version, Math::max);
+        Entry<V> entry = entries.get(id);
+        if (entry != null && entry.version < version) {
+            entries.evict(id, entry);
+        }
+        return true;
+    }
+
+    /**
+     * Drops every value and every invalidated version, e.g. after invalidations may have been missed.
+     */
+    public void clear() {
+        entries.clear();
+        invalidatedVersions.clear();
+    }
+
+    /**
+     * Stops serving and storing values, e.g. while invalidations cannot be received.
+     *
+     * @param  enabled  whether the cache is in use
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private boolean isStale(Long id, long version) {
+        Long invalidated = invalidatedVersions.get(id);
+        return invalidated != null && version < invalidated;
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+
+        private final long version;
+
+        private Entry(V value, long version) {
+            this.value = value;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.api.cache.CacheInvalidationBus;
+import com.api.cache.VersionedCache;
+import com.api.dto.product.CategoryDTO;
+import com.api.dto.product.ProductDTO;
+import com.api.model.event.AggregateType;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public VersionedCache<ProductDTO> productCache(CacheInvalidationBus cacheInvalidationBus,
+                                                   @Value("${api.cache.products.max-size:10000}") int maxSize) {
+        VersionedCache<ProductDTO> cache = new VersionedCache<>(maxSize);
+        cacheInvalidationBus.register(AggregateType.PRODUCT, cache);
+        return cache;
+    }
+
+    @Bean
+    public VersionedCache<CategoryDTO> categoryCache(CacheInvalidationBus cacheInvalidationBus,
+                                                     @Value("${api.cache.categories.max-size:1000}") int maxSize) {
+        VersionedCache<CategoryDTO> cache = new VersionedCache<>(maxSize);
+        cacheInvalidationBus.register(AggregateType.CATEGORY, cache);
+        return cache;
+    }
+}
@@ -0,0 +1,37 @@
+package com.api.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.api.idempotency.IdempotencyFilter;
+import com.api.idempotency.IdempotencyProperties;
+import com.api.idempotency.IdempotencyStore;
+import com.api.ratelimit.ClientKeyResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    /**
+     * Registers the idempotency filter after the rate limit filter, so replays still count against the client's budget,
+     * and before the load shedding filter, so the wait for an in-flight twin stays out of the write concurrency limit.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "api.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore idempotencyStore, ClientKeyResolver clientKeyResolver,
+                                                                       IdempotencyProperties properties, ObjectMapper objectMapper,
+                                                                       MeterRegistry meterRegistry) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(idempotencyStore, clientKeyResolver, properties, objectMapper, meterRegistry));
+        registration.addUrlPatterns("/api/v1/products/*", "/api/v1/categories/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
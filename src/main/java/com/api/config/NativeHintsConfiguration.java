@@ -0,0 +1,48 @@
+package com.api.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.api.dto.event.ChangeEventDTO;
+import com.api.dto.product.CategoryDTO;
+import com.api.dto.product.CategoryDeletionDTO;
+import com.api.dto.product.CategoryStatsDTO;
+import com.api.dto.product.ProductBatchDTO;
+import com.api.dto.product.ProductBatchPatchResultDTO;
+import com.api.dto.product.ProductChangesDTO;
+import com.api.dto.product.ProductDTO;
+import com.api.dto.product.ProductSliceDTO;
+import com.api.model.event.ChangeEvent;
+import com.api.model.product.Category;
+import com.api.model.product.CategoryStats;
+import com.api.model.product.Product;
+import com.api.model.response.Response;
+import com.api.validation.NullOrNotBlankValidator;
+
+/**
+ * Reachability metadata for the native image. Controllers returning {@code ResponseEntity<?>} hide their
+ * body types from AOT inference, so the JSON types are registered explicitly, together with the entities
+ * and the custom constraint validator that Hibernate instantiates reflectively.
+ */
+@Configuration
+@RegisterReflectionForBinding({ ProductDTO.class, CategoryDTO.class, ProductChangesDTO.class, ProductBatchDTO.class,
+        ProductBatchPatchResultDTO.class, CategoryStatsDTO.class, CategoryDeletionDTO.class,
+        ProductSliceDTO.class, ChangeEventDTO.class, Response.class })
+@ImportRuntimeHints(NativeHintsConfiguration.EntityHints.class)
+public class NativeHintsConfiguration {
+
+    static class EntityHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (Class<?> type : new Class<?>[] { Product.class, Category.class, CategoryStats.class, ChangeEvent.class }) {
+                hints.reflection().registerType(type, MemberCategory.values());
+            }
+            hints.reflection().registerType(NullOrNotBlankValidator.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+    }
+}
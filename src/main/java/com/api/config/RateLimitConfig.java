@@ -0,0 +1,52 @@
+package com.api.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.api.ratelimit.ClientKeyResolver;
+import com.api.ratelimit.ClientRateLimiter;
+import com.api.ratelimit.LoadShedder;
+import com.api.ratelimit.LoadSheddingFilter;
+import com.api.ratelimit.RateLimitFilter;
+import com.api.ratelimit.RateLimitProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    /**
+     * Registers the rate limit filter in front of the product and category endpoints only.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "api.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(ClientRateLimiter clientRateLimiter, ClientKeyResolver clientKeyResolver,
+                                                                   ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(clientRateLimiter, clientKeyResolver, objectMapper, meterRegistry));
+        registration.addUrlPatterns("/api/v1/products/*", "/api/v1/categories/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /**
+     * Registers the load shedding filter after the idempotency filter, so a retry waiting on its in-flight
+     * twin does not hold a write slot and its wait is not reported as write latency.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "api.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(LoadShedder loadShedder, RateLimitProperties properties,
+                                                                         ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<LoadSheddingFilter> registration = new FilterRegistrationBean<>(
+                new LoadSheddingFilter(loadShedder, properties, objectMapper, meterRegistry));
+        registration.addUrlPatterns("/api/v1/products/*", "/api/v1/categories/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 30);
+        return registration;
+    }
+}
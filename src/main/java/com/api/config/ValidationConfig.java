@@ -0,0 +1,21 @@
+package com.api.config;
+
+import org.hibernate.validator.BaseHibernateValidatorConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+@Configuration
+public class ValidationConfig {
+
+    /**
+     * Replaces Spring Boot's default validator with a fail-fast one. Only the first violation is ever
+     * reported to clients, so evaluating the remaining constraints is wasted work.
+     */
+    @Bean
+    public static LocalValidatorFactoryBean defaultValidator() {
+        LocalValidatorFactoryBean factoryBean = new LocalValidatorFactoryBean();
+        factoryBean.getValidationPropertyMap().put(BaseHibernateValidatorConfiguration.FAIL_FAST, "true");
+        return factoryBean;
+    }
+}
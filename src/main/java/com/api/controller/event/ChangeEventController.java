@@ -0,0 +1,42 @@
+package com.api.controller.event;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.api.dto.event.ChangeEventDTO;
+import com.api.service.event.ChangeEventService;
+import com.api.service.event.SseChangeEventSink;
+
+@RestController
+@RequestMapping("/api/v1/events")
+public class ChangeEventController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    @Autowired
+    private ChangeEventService changeEventService;
+
+    @Autowired
+    private SseChangeEventSink sseChangeEventSink;
+
+    @GetMapping
+    public List<ChangeEventDTO> getEvents(@RequestParam(defaultValue = "0") long after,
+                                          @RequestParam(defaultValue = "100") int limit) {
+        return changeEventService.findEventsAfter(after, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId,
+                                   @RequestParam(required = false) Long after) {
+        long offset = lastEventId != null ? lastEventId : after != null ? after : changeEventService.findLatestOffset();
+        return sseChangeEventSink.subscribe(offset);
+    }
+}
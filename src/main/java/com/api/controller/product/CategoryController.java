@@ -5,95 +5,77 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.validation.BindingResult;
-import org.springframework.validation.ObjectError;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import com.api.dto.product.CategoryDTO;
+import com.api.dto.product.CategoryDeleteMode;
+import com.api.dto.product.CategoryDeletionDTO;
+import com.api.dto.product.CategoryStatsDTO;
+import com.api.exception.ErrorCode;
 import com.api.model.response.Response;
 import com.api.service.product.CategoryService;
-
-import jakarta.validation.Valid;
+import com.api.service.product.CategoryStatsService;
+import com.api.validation.OnCreate;
+import com.api.validation.OnUpdate;
 
 @RestController
 @RequestMapping("/api/v1/categories")
 public class CategoryController {
 
+    private static final Response CATEGORY_CREATED = new Response("Category created successfully");
+    private static final Response CATEGORY_UPDATED = new Response("Category updated successfully");
+    private static final String CATEGORY_DELETED = "Category deleted successfully";
+
     @Autowired
     private CategoryService categoryService;
 
+    @Autowired
+    private CategoryStatsService categoryStatsService;
+
     @GetMapping
     public List<CategoryDTO> getAllCategories() {
         return categoryService.findAllCategories();
     }
 
+    @GetMapping("/stats")
+    public List<CategoryStatsDTO> getAllCategoryStats() {
+        return categoryStatsService.findAllStats();
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<?> getCategoryStats(@PathVariable Long id) {
+        return categoryStatsService.findStatsByCategoryId(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(ErrorCode.CATEGORY_NOT_FOUND::toResponseEntity);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getCategoryById(@PathVariable Long id) {
-        if (!categoryService.existsCategoryById(id)) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new Response("Category does not exist"));
-        }
-        try {
-            CategoryDTO categoryDTO = categoryService.findCategoryById(id);
-            return ResponseEntity.ok(categoryDTO);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new Response("Error retrieving category: " + e.getMessage()));
-        }
+        return categoryService.findCategoryById(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(ErrorCode.CATEGORY_NOT_FOUND::toResponseEntity);
     }
     
     @PostMapping
-    public ResponseEntity<?> createCategory(@Valid @RequestBody CategoryDTO categoryDTO, BindingResult bindingResult) {
-        if (bindingResult.hasErrors()) {
-            String firstErrorMessage = bindingResult.getAllErrors().stream()
-                .map(ObjectError::getDefaultMessage)
-                .findFirst()
-                .orElse("Unknown validation error");
-            return new ResponseEntity<>(new Response(firstErrorMessage), HttpStatus.BAD_REQUEST);
-        }
-        if (categoryService.existsCategoryByName(categoryDTO.getName())) {
-            return new ResponseEntity<>(new Response("Category name already exists. Please choose another name."), HttpStatus.CONFLICT);
-        }
-        try {
-            categoryService.saveCategory(categoryDTO);
-            return new ResponseEntity<>(new Response("Category created successfully"), HttpStatus.CREATED);
-        } catch (Exception e) {
-            return new ResponseEntity<>(new Response("Error registering category: " + e.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
-        }
+    public ResponseEntity<Response> createCategory(@Validated(OnCreate.class) @RequestBody CategoryDTO categoryDTO) {
+        categoryService.saveCategory(categoryDTO);
+        return new ResponseEntity<>(CATEGORY_CREATED, HttpStatus.CREATED);
     }
     
 
     @PutMapping("/{id}")
-    public ResponseEntity<Response> updateCategory(@PathVariable Long id, @RequestBody CategoryDTO categoryDTO) {
-        if (!categoryService.existsCategoryById(id)) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new Response("Category does not exist"));
-        }
-        
-        CategoryDTO existingCategory = categoryService.findCategoryById(id);
-        
-        if (categoryDTO.getName() != null && !categoryDTO.getName().equals(existingCategory.getName()) 
-                && categoryService.existsCategoryByNameExcludingId(categoryDTO.getName(), id)) {
-            return new ResponseEntity<>(new Response("Category name already exists. Please choose another name."), HttpStatus.CONFLICT);
-        }
-    
-        try {
-            categoryService.updateCategory(id, categoryDTO);
-            return ResponseEntity.status(HttpStatus.OK).body(new Response("Category updated successfully"));
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new Response(e.getMessage()));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new Response("Error updating category: " + e.getMessage()));
-        }
+    public ResponseEntity<Response> updateCategory(@PathVariable Long id, @Validated(OnUpdate.class) @RequestBody CategoryDTO categoryDTO) {
+        categoryService.updateCategory(id, categoryDTO);
+        return ResponseEntity.status(HttpStatus.OK).body(CATEGORY_UPDATED);
     }
     
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteCategory(@PathVariable Long id) {
-        if (!categoryService.existsCategoryById(id)) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new Response("Category does not exist"));
-        }
-        try {
-            categoryService.deleteCategory(id);
-            return ResponseEntity.status(HttpStatus.OK).body(new Response("Category deleted successfully"));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new Response("Error deleting category: " + e.getMessage()));
-        }
+    public ResponseEntity<CategoryDeletionDTO> deleteCategory(@PathVariable Long id,
+                                                              @RequestParam(defaultValue = "reject") String mode,
+                                                              @RequestParam(required = false) Long targetCategoryId) {
+        CategoryDeleteMode deleteMode = CategoryDeleteMode.fromParameter(mode);
+        int affectedProducts = categoryService.deleteCategory(id, deleteMode, targetCategoryId);
+        return ResponseEntity.status(HttpStatus.OK).body(new CategoryDeletionDTO(CATEGORY_DELETED, deleteMode, affectedProducts,
+                deleteMode == CategoryDeleteMode.REASSIGN ? targetCategoryId : null));
     }    
 }
-
@@ -1,124 +1,180 @@
 package com.api.controller.product;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.validation.BindingResult;
-import org.springframework.validation.ObjectError;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.api.service.product.CategoryService;
 import com.api.service.product.ProductService;
 
-import jakarta.validation.Valid;
+import com.api.dto.product.ProductBatchDTO;
+import com.api.dto.product.ProductBatchPatchDTO;
+import com.api.dto.product.ProductChangesDTO;
 import com.api.dto.product.ProductDTO;
+import com.api.dto.product.ProductIdsDTO;
+import com.api.dto.product.ProductSliceDTO;
+import com.api.exception.ErrorCode;
 import com.api.model.response.Response;
+import com.api.validation.DtoValidator;
+import com.api.validation.OnCreate;
+import com.api.validation.OnUpdate;
+import com.api.validation.ValidationFailure;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.Valid;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 
 @RestController
 @RequestMapping("/api/v1/products")
 public class ProductController {
 
+    private static final Response PRODUCT_CREATED = new Response("Product created successfully");
+    private static final Response PRODUCT_UPDATED = new Response("Product updated successfully");
+    private static final Response PRODUCT_DELETED = new Response("Product deleted successfully");
+
+    private static final int MAX_QUERY_IDS = 500;
+
+    private static final int MAX_SYNC_LIMIT = 1000;
+
+    public static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     @Autowired
     private ProductService productService;
-    
+
+    @Autowired
+    private DtoValidator dtoValidator;
+
     @Autowired
-    private CategoryService categoryService;
+    private ObjectMapper objectMapper;
+
+    @Value("${api.products.batch-patch-max-size:10000}")
+    private int batchPatchMaxSize;
+
+    @Value("${api.products.search.default-page-size:50}")
+    private int defaultPageSize;
 
     @GetMapping
     public List<ProductDTO> getAllProducts() {
         return productService.findAllProducts();
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<?> getProductById(@PathVariable Long id) {
-        if (!productService.existsProductById(id)) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new Response("Product does not exist"));
+    /**
+     * Returns one page of the products matching the filter, in the requested order; see
+     * {@link com.api.service.product.ProductQueryParser} for the grammar.
+     */
+    @GetMapping("/search")
+    public ProductSliceDTO searchProducts(@RequestParam(required = false) String filter,
+                                          @RequestParam(required = false) String sort,
+                                          @RequestParam(defaultValue = "0") int page,
+                                          @RequestParam(required = false) Integer size) {
+        return productService.searchProducts(filter, sort, page, size != null ? size : defaultPageSize);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<?> getProductsByIds(@RequestParam List<Long> ids) {
+        if (ids.isEmpty()) {
+            return ErrorCode.VALIDATION_FAILED.toResponseEntity("At least one product id is required");
         }
-        try {
-            ProductDTO productDTO = productService.findProductById(id);
-            return ResponseEntity.ok(productDTO);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new Response("Error retrieving product: " + e.getMessage()));
+        if (ids.size() > MAX_QUERY_IDS) {
+            return ErrorCode.TOO_MANY_IDS.toResponseEntity();
         }
+        return ResponseEntity.ok(productService.findProductsByIds(ids));
+    }
+
+    @PostMapping("/lookup")
+    public ProductBatchDTO lookupProducts(@Valid @RequestBody ProductIdsDTO productIdsDTO) {
+        return productService.findProductsByIds(productIdsDTO.getIds());
+    }
+
+    @GetMapping("/changes")
+    public ProductChangesDTO getProductChanges(@RequestParam(required = false) String since,
+                                               @RequestParam(defaultValue = "500") int limit) {
+        return productService.findProductChanges(since, Math.max(1, Math.min(limit, MAX_SYNC_LIMIT)));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getProductById(@PathVariable Long id) {
+        return productService.findProductById(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(ErrorCode.PRODUCT_NOT_FOUND::toResponseEntity);
     }
     
     @PostMapping
-    public ResponseEntity<?> createProduct(@Valid @RequestBody ProductDTO productDTO, BindingResult bindingResult) {
-        if (bindingResult.hasErrors()) {
-            String firstErrorMessage = bindingResult.getAllErrors().stream()
-                .map(ObjectError::getDefaultMessage)
-                .findFirst()
-                .orElse("Unknown validation error");
-            return new ResponseEntity<>(new Response(firstErrorMessage), HttpStatus.BAD_REQUEST);
-        }
-    
-        if (!categoryService.existsCategoryById(productDTO.getIdCategory())) {
-            return new ResponseEntity<>(new Response("The specified product category does not exist. Please verify the entered data."), HttpStatus.BAD_REQUEST);
-        }
-        if (productService.existsProductByName(productDTO.getName())) {
-            return new ResponseEntity<>(new Response("Product name already exists. Please choose another name."), HttpStatus.CONFLICT);
-        }
-        try {
-            productService.saveProduct(productDTO);
-            return new ResponseEntity<>(new Response("Product created successfully"), HttpStatus.CREATED);
-        } catch (Exception e) {
-            return new ResponseEntity<>(new Response("Error registering product: " + e.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
-        }
+    public ResponseEntity<Response> createProduct(@Validated(OnCreate.class) @RequestBody ProductDTO productDTO) {
+        productService.saveProduct(productDTO);
+        return new ResponseEntity<>(PRODUCT_CREATED, HttpStatus.CREATED);
     }    
     
     @PutMapping("/{id}")
-    public ResponseEntity<Response> updateProduct(@PathVariable Long id, @Valid @RequestBody ProductDTO productDTO, BindingResult bindingResult) {
-        if (bindingResult.hasErrors()) {
-            String firstErrorMessage = bindingResult.getAllErrors().stream()
-                .map(ObjectError::getDefaultMessage)
-                .findFirst()
-                .orElse("Unknown validation error");
-            return new ResponseEntity<>(new Response(firstErrorMessage), HttpStatus.BAD_REQUEST);
-        }
-        if (!productService.existsProductById(id)) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new Response("Product does not exist"));
-        }
-            
-        if (!categoryService.existsCategoryById(productDTO.getIdCategory())) {
-            return new ResponseEntity<>(new Response("The specified product category does not exist. Please verify the entered data."), HttpStatus.BAD_REQUEST);
+    public ResponseEntity<Response> updateProduct(@PathVariable Long id, @Validated(OnCreate.class) @RequestBody ProductDTO productDTO) {
+        productService.updateProduct(id, productDTO);
+        return ResponseEntity.status(HttpStatus.OK).body(PRODUCT_UPDATED);
+    }
+    
+    /**
+     * JSON Merge Patch (RFC 7396): only the supplied fields are validated and written. Product fields are
+     * all required, so removing one (setting it to null) is rejected.
+     */
+    @PatchMapping(path = "/{id}", consumes = MERGE_PATCH_JSON_VALUE)
+    public ResponseEntity<Response> patchProduct(@PathVariable Long id, @RequestBody JsonNode patch) {
+        if (!patch.isObject()) {
+            return ErrorCode.MALFORMED_REQUEST.toResponseEntity();
         }
-        
-        ProductDTO existingProduct = productService.findProductById(id);
-        if (productDTO.getName() != null && !productDTO.getName().equals(existingProduct.getName()) 
-                && productService.existsProductByNameExcludingId(productDTO.getName(), id)) {
-            return new ResponseEntity<>(new Response("Product name already exists. Please choose another name."), HttpStatus.CONFLICT);
+        for (Iterator<Map.Entry<String, JsonNode>> fields = patch.fields(); fields.hasNext();) {
+            if (fields.next().getValue().isNull()) {
+                return ErrorCode.FIELD_NOT_REMOVABLE.toResponseEntity();
+            }
         }
-        
+        ProductDTO productDTO;
         try {
-            productService.updateProduct(id, productDTO);
-            return ResponseEntity.status(HttpStatus.OK).body(new Response("Product updated successfully"));
+            productDTO = objectMapper.treeToValue(patch, ProductDTO.class);
+        } catch (JsonProcessingException e) {
+            // A value of the wrong type, reported like an unreadable PUT body
+            return ErrorCode.MALFORMED_REQUEST.toResponseEntity();
         }
-        catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new Response("Error updating product: " + e.getMessage()));
+        Optional<String> violation = dtoValidator.firstViolation(productDTO, OnUpdate.class);
+        if (violation.isPresent()) {
+            return ErrorCode.VALIDATION_FAILED.toResponseEntity(violation.get());
         }
+        productService.updateProduct(id, productDTO);
+        return ResponseEntity.status(HttpStatus.OK).body(PRODUCT_UPDATED);
     }
-    
-    @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteProduct(@PathVariable Long id) {
-        if (!productService.existsProductById(id)) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new Response("Product does not exist"));
+
+    @PatchMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> patchProducts(@RequestBody List<ProductBatchPatchDTO> patches) {
+        if (patches.isEmpty() || patches.size() > batchPatchMaxSize || patches.contains(null)) {
+            return ErrorCode.INVALID_BATCH.toResponseEntity();
         }
-        try {
-            productService.deleteProduct(id);
-            return ResponseEntity.status(HttpStatus.OK).body(new Response("Product deleted successfully"));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new Response("Error deleting product: " + e.getMessage()));
+        Optional<ValidationFailure> failure = dtoValidator.firstFailure(patches, OnUpdate.class);
+        if (failure.isPresent()) {
+            return ErrorCode.VALIDATION_FAILED.toResponseEntity("Item " + failure.get().getIndex() + ": " + failure.get().getMessage());
         }
+        return ResponseEntity.ok(productService.patchProducts(patches));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Response> deleteProduct(@PathVariable Long id) {
+        productService.deleteProduct(id);
+        return ResponseEntity.status(HttpStatus.OK).body(PRODUCT_DELETED);
     }
     
 }
@@ -0,0 +1,60 @@
+package com.api.dto.event;
+
+import java.time.Instant;
+
+import com.api.model.event.AggregateType;
+import com.api.model.event.ChangeType;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+public class ChangeEventDTO {
+
+	private Long offset;
+
+	private AggregateType aggregateType;
+
+	private Long aggregateId;
+
+	private ChangeType changeType;
+
+	@JsonRawValue
+	private String payload;
+
+	private Instant createdAt;
+
+	public Long getOffset() {
+		return offset;
+	}
+	public void setOffset(Long offset) {
+		this.offset = offset;
+	}
+	public AggregateType getAggregateType() {
+		return aggregateType;
+	}
+	public void setAggregateType(AggregateType aggregateType) {
+		this.aggregateType = aggregateType;
+	}
+	public Long getAggregateId() {
+		return aggregateId;
+	}
+	public void setAggregateId(Long aggregateId) {
+		this.aggregateId = aggregateId;
+	}
+	public ChangeType getChangeType() {
+		return changeType;
+	}
+	public void setChangeType(ChangeType changeType) {
+		this.changeType = changeType;
+	}
+	public String getPayload() {
+		return payload;
+	}
+	public void setPayload(String payload) {
+		this.payload = payload;
+	}
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+	public void setCreatedAt(Instant createdAt) {
+		this.createdAt = createdAt;
+	}
+}
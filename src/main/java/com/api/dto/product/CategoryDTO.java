@@ -1,5 +1,9 @@
 package com.api.dto.product;
 
+import com.api.validation.NullOrNotBlank;
+import com.api.validation.OnCreate;
+import com.api.validation.OnUpdate;
+
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -7,12 +11,14 @@ public class CategoryDTO {
 
 	private Long idCategory;
 	
-	@NotBlank(message = "The category name is required")
-	@Size(min = 4, max = 50, message = "Product name must be between 4 and 50 characters")
+	@NotBlank(message = "The category name is required", groups = OnCreate.class)
+	@NullOrNotBlank(message = "The category name is required", groups = OnUpdate.class)
+	@Size(min = 4, max = 50, message = "Category name must be between 4 and 50 characters", groups = { OnCreate.class, OnUpdate.class })
     private String name;
 
-	@NotBlank(message = "The category description is required")
-	@Size(min = 10, message = "Category description must be at least 10 characters")
+	@NotBlank(message = "The category description is required", groups = OnCreate.class)
+	@NullOrNotBlank(message = "The category description is required", groups = OnUpdate.class)
+	@Size(min = 10, message = "Category description must be at least 10 characters", groups = { OnCreate.class, OnUpdate.class })
 	private String description;
 	
     public Long getIdCategory() {
@@ -0,0 +1,32 @@
+package com.api.dto.product;
+
+import com.api.exception.ApiException;
+import com.api.exception.ErrorCode;
+
+/**
+ * What happens to the products of a category being deleted.
+ */
+public enum CategoryDeleteMode {
+	/** Refuse to delete a category that still has products. */
+	REJECT,
+	/** Move the products to another category first. */
+	REASSIGN,
+	/** Delete the products together with the category. */
+	CASCADE;
+
+	/**
+	 * Parses the {@code mode} query parameter, ignoring case.
+	 *
+	 * @param  value  the parameter value
+	 * @return        the matching mode
+	 * @throws ApiException  if the value is not a known mode
+	 */
+	public static CategoryDeleteMode fromParameter(String value) {
+		for (CategoryDeleteMode mode : values()) {
+			if (mode.name().equalsIgnoreCase(value)) {
+				return mode;
+			}
+		}
+		throw new ApiException(ErrorCode.INVALID_DELETE_MODE);
+	}
+}
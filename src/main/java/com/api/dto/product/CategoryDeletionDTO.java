@@ -0,0 +1,35 @@
+package com.api.dto.product;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CategoryDeletionDTO {
+
+	private String message;
+
+	private CategoryDeleteMode mode;
+
+	private int affectedProducts;
+
+	private Long targetCategoryId;
+
+	public CategoryDeletionDTO(String message, CategoryDeleteMode mode, int affectedProducts, Long targetCategoryId) {
+		this.message = message;
+		this.mode = mode;
+		this.affectedProducts = affectedProducts;
+		this.targetCategoryId = targetCategoryId;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+	public CategoryDeleteMode getMode() {
+		return mode;
+	}
+	public int getAffectedProducts() {
+		return affectedProducts;
+	}
+	public Long getTargetCategoryId() {
+		return targetCategoryId;
+	}
+}
@@ -0,0 +1,47 @@
+package com.api.dto.product;
+
+import java.time.Instant;
+
+public class CategoryStatsDTO {
+
+	private Long idCategory;
+
+	private long productCount;
+
+	private double stockValue;
+
+	private long lowStockCount;
+
+	private int lowStockThreshold;
+
+	private Instant updatedAt;
+
+	public CategoryStatsDTO(Long idCategory, long productCount, double stockValue, long lowStockCount, int lowStockThreshold,
+			Instant updatedAt) {
+		this.idCategory = idCategory;
+		this.productCount = productCount;
+		this.stockValue = stockValue;
+		this.lowStockCount = lowStockCount;
+		this.lowStockThreshold = lowStockThreshold;
+		this.updatedAt = updatedAt;
+	}
+
+	public Long getIdCategory() {
+		return idCategory;
+	}
+	public long getProductCount() {
+		return productCount;
+	}
+	public double getStockValue() {
+		return stockValue;
+	}
+	public long getLowStockCount() {
+		return lowStockCount;
+	}
+	public int getLowStockThreshold() {
+		return lowStockThreshold;
+	}
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+}
@@ -0,0 +1,22 @@
+package com.api.dto.product;
+
+import java.util.List;
+
+public class ProductBatchDTO {
+
+	private List<ProductDTO> products;
+
+	private List<Long> missing;
+
+	public ProductBatchDTO(List<ProductDTO> products, List<Long> missing) {
+		this.products = products;
+		this.missing = missing;
+	}
+
+	public List<ProductDTO> getProducts() {
+		return products;
+	}
+	public List<Long> getMissing() {
+		return missing;
+	}
+}
@@ -0,0 +1,37 @@
+package com.api.dto.product;
+
+import com.api.validation.OnUpdate;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class ProductBatchPatchDTO {
+
+	@NotNull(message = "Product id is required", groups = OnUpdate.class)
+	private Long idProduct;
+
+	@Min(value = 0, message = "Total quantity cannot be negative", groups = OnUpdate.class)
+	private Integer totalQuantity;
+
+	@Min(value = 1, message = "Price must be a positive value", groups = OnUpdate.class)
+	private Double price;
+
+	public Long getIdProduct() {
+		return idProduct;
+	}
+	public void setIdProduct(Long idProduct) {
+		this.idProduct = idProduct;
+	}
+	public Integer getTotalQuantity() {
+		return totalQuantity;
+	}
+	public void setTotalQuantity(Integer totalQuantity) {
+		this.totalQuantity = totalQuantity;
+	}
+	public Double getPrice() {
+		return price;
+	}
+	public void setPrice(Double price) {
+		this.price = price;
+	}
+}
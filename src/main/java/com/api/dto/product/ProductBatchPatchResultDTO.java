@@ -0,0 +1,22 @@
+package com.api.dto.product;
+
+import java.util.List;
+
+public class ProductBatchPatchResultDTO {
+
+	private int updated;
+
+	private List<Long> missing;
+
+	public ProductBatchPatchResultDTO(int updated, List<Long> missing) {
+		this.updated = updated;
+		this.missing = missing;
+	}
+
+	public int getUpdated() {
+		return updated;
+	}
+	public List<Long> getMissing() {
+		return missing;
+	}
+}
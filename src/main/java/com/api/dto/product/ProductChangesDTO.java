@@ -0,0 +1,34 @@
+package com.api.dto.product;
+
+import java.util.List;
+
+public class ProductChangesDTO {
+
+	private List<ProductDTO> changed;
+
+	private List<Long> deleted;
+
+	private String token;
+
+	private boolean hasMore;
+
+	public ProductChangesDTO(List<ProductDTO> changed, List<Long> deleted, String token, boolean hasMore) {
+		this.changed = changed;
+		this.deleted = deleted;
+		this.token = token;
+		this.hasMore = hasMore;
+	}
+
+	public List<ProductDTO> getChanged() {
+		return changed;
+	}
+	public List<Long> getDeleted() {
+		return deleted;
+	}
+	public String getToken() {
+		return token;
+	}
+	public boolean isHasMore() {
+		return hasMore;
+	}
+}
@@ -1,5 +1,9 @@
 package com.api.dto.product;
 
+import com.api.validation.NullOrNotBlank;
+import com.api.validation.OnCreate;
+import com.api.validation.OnUpdate;
+
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -9,23 +13,25 @@ public class ProductDTO {
 
 	private Long idProduct;
 	
-	@NotBlank(message = "Product name is required")
-    @Size(min = 4, max = 50, message = "Product name must be between 4 and 50 characters")
+	@NotBlank(message = "Product name is required", groups = OnCreate.class)
+	@NullOrNotBlank(message = "Product name is required", groups = OnUpdate.class)
+    @Size(min = 4, max = 50, message = "Product name must be between 4 and 50 characters", groups = { OnCreate.class, OnUpdate.class })
 	private String name;
 	
-	@NotBlank(message = "Product description is required")
-	@Size(min =10, message = "Product description must be at least 10 characters")
+	@NotBlank(message = "Product description is required", groups = OnCreate.class)
+	@NullOrNotBlank(message = "Product description is required", groups = OnUpdate.class)
+	@Size(min =10, message = "Product description must be at least 10 characters", groups = { OnCreate.class, OnUpdate.class })
     private String description;
 	
-	@NotNull(message = "Product quantity is required")
-    @Min(value = 0, message = "Total quantity cannot be negative")
+	@NotNull(message = "Product quantity is required", groups = OnCreate.class)
+    @Min(value = 0, message = "Total quantity cannot be negative", groups = { OnCreate.class, OnUpdate.class })
     private Integer totalQuantity;
 	
-	@NotNull(message = "Price cannot be null")
-    @Min(value = 1, message = "Price must be a positive value")
+	@NotNull(message = "Price cannot be null", groups = OnCreate.class)
+    @Min(value = 1, message = "Price must be a positive value", groups = { OnCreate.class, OnUpdate.class })
 	private Double price;
     
-	@NotNull(message = "Category cannot be null")
+	@NotNull(message = "Category cannot be null", groups = OnCreate.class)
     private Long idCategory;
     
 	public Long getIdProduct() {
@@ -0,0 +1,21 @@
+package com.api.dto.product;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public class ProductIdsDTO {
+
+	@NotEmpty(message = "At least one product id is required")
+	@Size(max = 10000, message = "At most 10000 product ids can be requested at once")
+	private List<@NotNull(message = "Product ids cannot be null") Long> ids;
+
+	public List<Long> getIds() {
+		return ids;
+	}
+	public void setIds(List<Long> ids) {
+		this.ids = ids;
+	}
+}
@@ -0,0 +1,34 @@
+package com.api.dto.product;
+
+import java.util.List;
+
+public class ProductSliceDTO {
+
+	private List<ProductDTO> products;
+
+	private int page;
+
+	private int size;
+
+	private boolean hasNext;
+
+	public ProductSliceDTO(List<ProductDTO> products, int page, int size, boolean hasNext) {
+		this.products = products;
+		this.page = page;
+		this.size = size;
+		this.hasNext = hasNext;
+	}
+
+	public List<ProductDTO> getProducts() {
+		return products;
+	}
+	public int getPage() {
+		return page;
+	}
+	public int getSize() {
+		return size;
+	}
+	public boolean isHasNext() {
+		return hasNext;
+	}
+}
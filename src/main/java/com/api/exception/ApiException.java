@@ -0,0 +1,40 @@
+package com.api.exception;
+
+/**
+ * Domain error raised by the services and translated to an HTTP response by {@link ApiExceptionHandler}.
+ * These are expected outcomes rather than bugs, so no stack trace is captured.
+ */
+public class ApiException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ErrorCode errorCode;
+
+    private final String detail;
+
+    public ApiException(ErrorCode errorCode) {
+        super(errorCode.getMessage(), null, false, false);
+        this.errorCode = errorCode;
+        this.detail = null;
+    }
+
+    /**
+     * Creates an error whose response carries a request-specific message instead of the default one.
+     *
+     * @param  errorCode  the error code
+     * @param  detail     the message to return
+     */
+    public ApiException(ErrorCode errorCode, String detail) {
+        super(detail, null, false, false);
+        this.errorCode = errorCode;
+        this.detail = detail;
+    }
+
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+}
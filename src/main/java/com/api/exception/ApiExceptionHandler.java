@@ -0,0 +1,88 @@
+package com.api.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.ObjectError;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import com.api.model.response.Response;
+
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiExceptionHandler.class);
+
+    private static final String PRODUCT_NAME_CONSTRAINT = "uk_product_name_upper";
+
+    private static final String CATEGORY_NAME_CONSTRAINT = "uk_category_name_upper";
+
+    @ExceptionHandler(ApiException.class)
+    public ResponseEntity<Response> handleApiException(ApiException e) {
+        return e.getDetail() != null ? e.getErrorCode().toResponseEntity(e.getDetail()) : e.getErrorCode().toResponseEntity();
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<Response> handleValidationException(MethodArgumentNotValidException e) {
+        return e.getBindingResult().getAllErrors().stream()
+                .map(ObjectError::getDefaultMessage)
+                .findFirst()
+                .map(ErrorCode.VALIDATION_FAILED::toResponseEntity)
+                .orElseGet(ErrorCode.VALIDATION_FAILED::toResponseEntity);
+    }
+
+    @ExceptionHandler({ HttpMessageNotReadableException.class, MethodArgumentTypeMismatchException.class })
+    public ResponseEntity<Response> handleMalformedRequest(Exception e) {
+        return ErrorCode.MALFORMED_REQUEST.toResponseEntity();
+    }
+
+    /**
+     * Unique or foreign key violations that slipped past the service checks, e.g. two concurrent
+     * requests creating the same name. Name collisions get the same code as the service checks.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Response> handleDataIntegrityViolation(DataIntegrityViolationException e) {
+        log.debug("Data integrity violation", e);
+        String constraint = e.getCause() instanceof ConstraintViolationException violation ? violation.getConstraintName() : null;
+        if (PRODUCT_NAME_CONSTRAINT.equals(constraint)) {
+            return ErrorCode.PRODUCT_NAME_CONFLICT.toResponseEntity();
+        }
+        if (CATEGORY_NAME_CONSTRAINT.equals(constraint)) {
+            return ErrorCode.CATEGORY_NAME_CONFLICT.toResponseEntity();
+        }
+        return ErrorCode.DATA_CONFLICT.toResponseEntity();
+    }
+
+    /**
+     * Concurrent writes to the same rows: a version check rejected the later update, or the database
+     * aborted one side of a deadlock, e.g. two categories being reassigned into each other.
+     */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<Response> handleConcurrencyFailure(ConcurrencyFailureException e) {
+        log.debug("Concurrency failure", e);
+        return ErrorCode.DATA_CONFLICT.toResponseEntity();
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<Response> handleUnexpectedException(Exception e) {
+        if (e instanceof ErrorResponse errorResponse) {
+            // Framework rejections (unsupported method or media type, missing parameter, unknown path);
+            // their headers tell the client what is supported, e.g. Allow on 405 and Accept on 415
+            return ResponseEntity.status(errorResponse.getStatusCode())
+                    .headers(errorResponse.getHeaders())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(new Response(ErrorCode.REQUEST_REJECTED.name(), errorResponse.getBody().getDetail()));
+        }
+        log.error("Unhandled exception", e);
+        return ErrorCode.INTERNAL_ERROR.toResponseEntity();
+    }
+}
@@ -0,0 +1,79 @@
+package com.api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import com.api.model.response.Response;
+
+/**
+ * Machine-readable error codes returned in the {@code code} field of error responses.
+ * Each code carries a pre-built response, so fixed-message errors allocate nothing per request. Error
+ * bodies are always JSON, also for requests that only accept another type such as an event stream.
+ */
+public enum ErrorCode {
+    PRODUCT_NOT_FOUND(HttpStatus.NOT_FOUND, "Product does not exist"),
+    CATEGORY_NOT_FOUND(HttpStatus.NOT_FOUND, "Category does not exist"),
+    PRODUCT_CATEGORY_NOT_FOUND(HttpStatus.BAD_REQUEST, "The specified product category does not exist. Please verify the entered data."),
+    PRODUCT_NAME_CONFLICT(HttpStatus.CONFLICT, "Product name already exists. Please choose another name."),
+    CATEGORY_NOT_EMPTY(HttpStatus.CONFLICT, "The category still has products. Delete with mode=reassign or mode=cascade."),
+    INVALID_DELETE_MODE(HttpStatus.BAD_REQUEST, "The delete mode must be reject, reassign or cascade"),
+    INVALID_REASSIGN_TARGET(HttpStatus.BAD_REQUEST, "mode=reassign requires a targetCategoryId of another existing category"),
+    CATEGORY_NAME_CONFLICT(HttpStatus.CONFLICT, "Category name already exists. Please choose another name."),
+    VALIDATION_FAILED(HttpStatus.BAD_REQUEST, "Unknown validation error"),
+    TOO_MANY_IDS(HttpStatus.BAD_REQUEST, "At most 500 ids can be passed in the query string. Use POST /api/v1/products/lookup for larger lists."),
+    FIELD_NOT_REMOVABLE(HttpStatus.BAD_REQUEST, "Product fields cannot be removed. Omit a field to leave it unchanged."),
+    INVALID_BATCH(HttpStatus.BAD_REQUEST, "A batch must contain between 1 and the maximum allowed number of non-null items"),
+    INVALID_QUERY(HttpStatus.BAD_REQUEST, "Invalid filter, sort or paging parameter"),
+    INVALID_SYNC_TOKEN(HttpStatus.BAD_REQUEST, "The since parameter must be a token returned by /api/v1/products/changes"),
+    EVENT_REPLAY_TOO_LARGE(HttpStatus.CONFLICT, "Too many events to replay over the stream. Catch up with GET /api/v1/events?after= first, then resume the stream from the last offset."),
+    MALFORMED_REQUEST(HttpStatus.BAD_REQUEST, "Malformed request"),
+    REQUEST_REJECTED(HttpStatus.BAD_REQUEST, "The request is not supported"),
+    RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS, "Too many requests. Please retry later."),
+    SERVICE_OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE, "The service is temporarily overloaded. Please retry later."),
+    IDEMPOTENCY_KEY_INVALID(HttpStatus.BAD_REQUEST, "The Idempotency-Key header must contain between 1 and 255 characters"),
+    IDEMPOTENCY_KEY_REUSED(HttpStatus.UNPROCESSABLE_ENTITY, "The Idempotency-Key was already used for a different request"),
+    IDEMPOTENCY_BODY_TOO_LARGE(HttpStatus.PAYLOAD_TOO_LARGE, "The request body is too large to be sent with an Idempotency-Key"),
+    IDEMPOTENCY_KEY_IN_PROGRESS(HttpStatus.CONFLICT, "A request with this Idempotency-Key is still being processed. Please retry later."),
+    DATA_CONFLICT(HttpStatus.CONFLICT, "The request conflicts with the current state of the data"),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred");
+
+    private final HttpStatus status;
+
+    private final String message;
+
+    private final ResponseEntity<Response> responseEntity;
+
+    ErrorCode(HttpStatus status, String message) {
+        this.status = status;
+        this.message = message;
+        this.responseEntity = ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(new Response(name(), message));
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns the shared, immutable response for this code with its default message.
+     *
+     * @return the pre-built response entity
+     */
+    public ResponseEntity<Response> toResponseEntity() {
+        return responseEntity;
+    }
+
+    /**
+     * Builds a response for this code with a request-specific message.
+     *
+     * @param  message  the message to return instead of the default one
+     * @return          a new response entity
+     */
+    public ResponseEntity<Response> toResponseEntity(String message) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(new Response(name(), message));
+    }
+}
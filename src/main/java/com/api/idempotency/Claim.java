@@ -0,0 +1,55 @@
+package com.api.idempotency;
+
+/**
+ * Outcome of {@link IdempotencyStore#claim}.
+ */
+public class Claim {
+
+    public enum Status {
+        /** The caller owns the key and must execute the request, then complete or abandon it. */
+        ACQUIRED,
+        /** The key was already used for the same request; replay the stored response. */
+        REPLAY,
+        /** The key was already used for a different request. */
+        MISMATCH,
+        /** Another request with the same key is still running and did not finish in time. */
+        IN_PROGRESS
+    }
+
+    private static final Claim ACQUIRED = new Claim(Status.ACQUIRED, null);
+    private static final Claim MISMATCH = new Claim(Status.MISMATCH, null);
+    private static final Claim IN_PROGRESS = new Claim(Status.IN_PROGRESS, null);
+
+    private final Status status;
+
+    private final StoredResponse response;
+
+    private Claim(Status status, StoredResponse response) {
+        this.status = status;
+        this.response = response;
+    }
+
+    public static Claim acquired() {
+        return ACQUIRED;
+    }
+
+    public static Claim replay(StoredResponse response) {
+        return new Claim(Status.REPLAY, response);
+    }
+
+    public static Claim mismatch() {
+        return MISMATCH;
+    }
+
+    public static Claim inProgress() {
+        return IN_PROGRESS;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public StoredResponse getResponse() {
+        return response;
+    }
+}
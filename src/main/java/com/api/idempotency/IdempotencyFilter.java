@@ -0,0 +1,261 @@
+package com.api.idempotency;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.api.exception.ErrorCode;
+import com.api.ratelimit.ClientKeyResolver;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Honors the {@code Idempotency-Key} header on POST, PUT and PATCH requests. The first request with a key
+ * executes and its response is recorded; retries with the same key and body get that response replayed,
+ * and concurrent retries wait for the in-flight one instead of executing twice. Keys are scoped per client.
+ * Server errors are not recorded, so a retry after a 5xx executes again. The body is buffered to fingerprint
+ * it, so requests larger than {@code api.idempotency.max-body-bytes} are rejected.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+
+    private final ClientKeyResolver clientKeyResolver;
+
+    private final int maxBodyBytes;
+
+    private final byte[] invalidKeyBody;
+
+    private final byte[] bodyTooLargeBody;
+
+    private final byte[] keyReusedBody;
+
+    private final byte[] inProgressBody;
+
+    private final Counter replayed;
+
+    private final Counter rejected;
+
+    public IdempotencyFilter(IdempotencyStore store, ClientKeyResolver clientKeyResolver, IdempotencyProperties properties,
+                             ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.clientKeyResolver = clientKeyResolver;
+        this.maxBodyBytes = properties.getMaxBodyBytes();
+        this.invalidKeyBody = serialize(objectMapper, ErrorCode.IDEMPOTENCY_KEY_INVALID);
+        this.bodyTooLargeBody = serialize(objectMapper, ErrorCode.IDEMPOTENCY_BODY_TOO_LARGE);
+        this.keyReusedBody = serialize(objectMapper, ErrorCode.IDEMPOTENCY_KEY_REUSED);
+        this.inProgressBody = serialize(objectMapper, ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS);
+        this.replayed = meterRegistry.counter("api.idempotency.replayed");
+        this.rejected = meterRegistry.counter("api.idempotency.rejected");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (!"POST".equals(method) && !"PUT".equals(method) && !"PATCH".equals(method)) {
+            return true;
+        }
+        return request.getHeader(IDEMPOTENCY_KEY_HEADER) == null || request.getRequestURI().endsWith("/lookup");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            write(response, ErrorCode.IDEMPOTENCY_KEY_INVALID.getStatus().value(), MediaType.APPLICATION_JSON_VALUE, invalidKeyBody);
+            return;
+        }
+        byte[] body = request.getContentLengthLong() > maxBodyBytes ? null : readBody(request);
+        if (body == null) {
+            rejected.increment();
+            write(response, ErrorCode.IDEMPOTENCY_BODY_TOO_LARGE.getStatus().value(), MediaType.APPLICATION_JSON_VALUE, bodyTooLargeBody);
+            return;
+        }
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request, body);
+        String key = sha256(clientKeyResolver.resolve(request) + '\n' + idempotencyKey);
+        Claim claim = store.claim(key, fingerprint(cachedRequest));
+        switch (claim.getStatus()) {
+            case REPLAY -> {
+                replayed.increment();
+                StoredResponse stored = claim.getResponse();
+                response.setHeader(REPLAYED_HEADER, "true");
+                write(response, stored.getStatus(), stored.getContentType(), stored.getBody());
+                return;
+            }
+            case MISMATCH -> {
+                rejected.increment();
+                write(response, ErrorCode.IDEMPOTENCY_KEY_REUSED.getStatus().value(), MediaType.APPLICATION_JSON_VALUE, keyReusedBody);
+                return;
+            }
+            case IN_PROGRESS -> {
+                rejected.increment();
+                response.setHeader("Retry-After", "1");
+                write(response, ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS.getStatus().value(), MediaType.APPLICATION_JSON_VALUE, inProgressBody);
+                return;
+            }
+            default -> {
+                // ACQUIRED: this request executes
+            }
+        }
+
+        ContentCachingResponseWrapper cachedResponse = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(cachedRequest, cachedResponse);
+            int status = cachedResponse.getStatus();
+            if (status < 500 && status != HttpStatus.TOO_MANY_REQUESTS.value()) {
+                store.complete(key, new StoredResponse(status, cachedResponse.getContentType(), cachedResponse.getContentAsByteArray()));
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                store.abandon(key);
+            }
+            cachedResponse.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Reads the body, or returns null once it exceeds the limit; the declared length may be absent or wrong.
+     */
+    private byte[] readBody(HttpServletRequest request) throws IOException {
+        InputStream input = request.getInputStream();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            if (output.size() + read > maxBodyBytes) {
+                return null;
+            }
+            output.write(buffer, 0, read);
+        }
+        return output.toByteArray();
+    }
+
+    private static String fingerprint(CachedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null) {
+                digest.update((byte) '?');
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            digest.update(request.body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void write(HttpServletResponse response, int status, String contentType, byte[] body) throws IOException {
+        response.setStatus(status);
+        if (contentType != null) {
+            response.setContentType(contentType);
+        }
+        if (body != null) {
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    private static byte[] serialize(ObjectMapper objectMapper, ErrorCode errorCode) {
+        try {
+            return objectMapper.writeValueAsBytes(errorCode.toResponseEntity().getBody());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize " + errorCode, e);
+        }
+    }
+
+    /**
+     * Buffers the body so it can be fingerprinted before the controller reads it.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.api.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "api.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    /** "memory" for a single node, "jdbc" to share keys between nodes through the database. */
+    private String store = "memory";
+
+    private long ttlMs = 86_400_000;
+
+    private int maxEntries = 100_000;
+
+    private long waitTimeoutMs = 10_000;
+
+    /** How long an in-flight jdbc claim survives without renewal before another request may take the key over. */
+    private long leaseMs = 30_000;
+
+    /** Larger bodies are rejected rather than buffered for fingerprinting. */
+    private int maxBodyBytes = 1_048_576;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getStore() {
+        return store;
+    }
+
+    public void setStore(String store) {
+        this.store = store;
+    }
+
+    public long getTtlMs() {
+        return ttlMs;
+    }
+
+    public void setTtlMs(long ttlMs) {
+        this.ttlMs = ttlMs;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public long getWaitTimeoutMs() {
+        return waitTimeoutMs;
+    }
+
+    public void setWaitTimeoutMs(long waitTimeoutMs) {
+        this.waitTimeoutMs = waitTimeoutMs;
+    }
+
+    public long getLeaseMs() {
+        return leaseMs;
+    }
+
+    public void setLeaseMs(long leaseMs) {
+        this.leaseMs = leaseMs;
+    }
+
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public void setMaxBodyBytes(int maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+}
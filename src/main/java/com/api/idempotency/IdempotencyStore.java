@@ -0,0 +1,31 @@
+package com.api.idempotency;
+
+/**
+ * Records the first response for each idempotency key so retries can be answered without re-executing.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Claims a key for a request, waiting for an in-flight request with the same key to finish first.
+     *
+     * @param  key          the client-scoped idempotency key
+     * @param  fingerprint  a hash of the request, used to detect a key reused for a different request
+     * @return              whether to execute, replay or reject the request
+     */
+    Claim claim(String key, String fingerprint);
+
+    /**
+     * Stores the response of a request that claimed the key and wakes up waiting duplicates.
+     *
+     * @param  key       the key passed to {@link #claim}
+     * @param  response  the response to replay to duplicates
+     */
+    void complete(String key, StoredResponse response);
+
+    /**
+     * Releases a claimed key without storing a response, e.g. after a server error, so a retry executes again.
+     *
+     * @param  key  the key passed to {@link #claim}
+     */
+    void abandon(String key);
+}
@@ -0,0 +1,140 @@
+package com.api.idempotency;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-node store. Duplicates of an in-flight request block on the original's future instead of polling.
+ * Entries expire after the configured TTL; past the size bound the oldest completed entries are dropped.
+ * Entries are queued in claim order, which is also expiry order, so purging and evicting only look at the
+ * head of the queue. An entry still in flight at the head holds both back until it completes, and an
+ * abandoned entry keeps its place in the queue until it reaches the head.
+ */
+@Component
+@ConditionalOnProperty(prefix = "api.idempotency", name = "store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    @Autowired
+    private IdempotencyProperties properties;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Queue<Entry> claimOrder = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public Claim claim(String key, String fingerprint) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getWaitTimeoutMs());
+        while (true) {
+            long now = System.currentTimeMillis();
+            Entry entry = new Entry(key, fingerprint, now + properties.getTtlMs());
+            Entry existing = entries.putIfAbsent(key, entry);
+            if (existing == null) {
+                claimOrder.add(entry);
+                if (entries.size() > properties.getMaxEntries()) {
+                    evict();
+                }
+                return Claim.acquired();
+            }
+            if (existing.expiresAt <= now) {
+                entries.remove(key, existing);
+                continue;
+            }
+            if (!existing.fingerprint.equals(fingerprint)) {
+                return Claim.mismatch();
+            }
+            try {
+                StoredResponse response = existing.result.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (response != null) {
+                    return Claim.replay(response);
+                }
+                // Abandoned by its owner: try to claim the key ourselves
+            } catch (TimeoutException e) {
+                return Claim.inProgress();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Claim.inProgress();
+            } catch (ExecutionException e) {
+                entries.remove(key, existing);
+            }
+        }
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.result.complete(response);
+        }
+    }
+
+    @Override
+    public void abandon(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            entry.result.complete(null);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.idempotency.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        Entry head;
+        while ((head = claimOrder.peek()) != null && (head.expiresAt <= now || entries.get(head.key) != head)) {
+            if (!removeHead(head)) {
+                return;
+            }
+        }
+    }
+
+    private void evict() {
+        Entry head;
+        while (entries.size() > properties.getMaxEntries() && (head = claimOrder.peek()) != null) {
+            if (!removeHead(head)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drops the head of the queue and its entry, unless the entry is still in flight.
+     *
+     * @return  whether the head was removed
+     */
+    private boolean removeHead(Entry head) {
+        if (entries.get(head.key) == head && !head.result.isDone()) {
+            return false;
+        }
+        if (claimOrder.remove(head)) {
+            entries.remove(head.key, head);
+        }
+        return true;
+    }
+
+    private static final class Entry {
+
+        private final String key;
+
+        private final String fingerprint;
+
+        private final long expiresAt;
+
+        private final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+
+        private Entry(String key, String fingerprint, long expiresAt) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.api.idempotency;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Database-backed store shared by all nodes. The primary key on the idempotency_key table arbitrates
+ * which node executes a request; duplicates on any node poll the row until the response is recorded.
+ * An in-flight row holds a short lease that the executing node renews; if the node dies, the lease runs
+ * out and the next claim takes the key over instead of waiting for the TTL.
+ * Statements run in their own auto-committed transactions, outside the business transaction.
+ */
+@Component
+@ConditionalOnProperty(prefix = "api.idempotency", name = "store", havingValue = "jdbc")
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    @Autowired
+    private IdempotencyProperties properties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${api.idempotency.poll-interval-ms:50}")
+    private long pollIntervalMillis;
+
+    /** Keys claimed by this node and not yet completed or abandoned; their leases are renewed. */
+    private final Set<String> held = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public Claim claim(String key, String fingerprint) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getWaitTimeoutMs());
+        while (true) {
+            Instant now = Instant.now();
+            int inserted = jdbcTemplate.update(
+                    "INSERT INTO idempotency_key (idempotency_key, fingerprint, created_at, expires_at, lease_expires_at) "
+                            + "VALUES (?, ?, ?, ?, ?) ON CONFLICT (idempotency_key) DO NOTHING",
+                    key, fingerprint, utc(now), utc(now.plusMillis(properties.getTtlMs())), utc(now.plusMillis(properties.getLeaseMs())));
+            if (inserted == 1) {
+                held.add(key);
+                return Claim.acquired();
+            }
+            List<Row> rows = jdbcTemplate.query(
+                    "SELECT fingerprint, response_status, content_type, body, expires_at, lease_expires_at FROM idempotency_key WHERE idempotency_key = ?",
+                    (rs, rowNum) -> new Row(rs.getString("fingerprint"), (Integer) rs.getObject("response_status"),
+                            rs.getString("content_type"), rs.getBytes("body"), rs.getObject("expires_at", OffsetDateTime.class),
+                            rs.getObject("lease_expires_at", OffsetDateTime.class)),
+                    key);
+            if (rows.isEmpty()) {
+                continue;
+            }
+            Row row = rows.get(0);
+            if (!row.expiresAt.toInstant().isAfter(now)) {
+                jdbcTemplate.update("DELETE FROM idempotency_key WHERE idempotency_key = ? AND expires_at = ?", key, row.expiresAt);
+                continue;
+            }
+            if (row.status == null && (row.leaseExpiresAt == null || !row.leaseExpiresAt.toInstant().isAfter(now))) {
+                if (takeOver(key, fingerprint, row.leaseExpiresAt, now)) {
+                    held.add(key);
+                    return Claim.acquired();
+                }
+                continue;
+            }
+            if (!row.fingerprint.equals(fingerprint)) {
+                return Claim.mismatch();
+            }
+            if (row.status != null) {
+                return Claim.replay(new StoredResponse(row.status, row.contentType, row.body));
+            }
+            if (System.nanoTime() >= deadline) {
+                return Claim.inProgress();
+            }
+            try {
+                Thread.sleep(pollIntervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Claim.inProgress();
+            }
+        }
+    }
+
+    /**
+     * Claims an in-flight row whose owner stopped renewing its lease. The row is matched on the lease that
+     * was read, so of several nodes racing for it only one wins.
+     */
+    private boolean takeOver(String key, String fingerprint, OffsetDateTime expiredLease, Instant now) {
+        String sql = "UPDATE idempotency_key SET fingerprint = ?, created_at = ?, expires_at = ?, lease_expires_at = ? "
+                + "WHERE idempotency_key = ? AND response_status IS NULL AND lease_expires_at ";
+        OffsetDateTime createdAt = utc(now);
+        OffsetDateTime expiresAt = utc(now.plusMillis(properties.getTtlMs()));
+        OffsetDateTime leaseExpiresAt = utc(now.plusMillis(properties.getLeaseMs()));
+        int updated = expiredLease == null
+                ? jdbcTemplate.update(sql + "IS NULL", fingerprint, createdAt, expiresAt, leaseExpiresAt, key)
+                : jdbcTemplate.update(sql + "= ?", fingerprint, createdAt, expiresAt, leaseExpiresAt, key, expiredLease);
+        return updated == 1;
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        held.remove(key);
+        jdbcTemplate.update("UPDATE idempotency_key SET response_status = ?, content_type = ?, body = ?, lease_expires_at = NULL "
+                        + "WHERE idempotency_key = ? AND response_status IS NULL",
+                response.getStatus(), response.getContentType(), response.getBody(), key);
+    }
+
+    @Override
+    public void abandon(String key) {
+        held.remove(key);
+        jdbcTemplate.update("DELETE FROM idempotency_key WHERE idempotency_key = ? AND response_status IS NULL", key);
+    }
+
+    /**
+     * Extends the leases of the requests this node is still executing. Runs well inside the lease so that
+     * a missed run or a slow database does not let another node take a live request over.
+     */
+    @Scheduled(fixedDelayString = "${api.idempotency.lease-renew-interval-ms:10000}")
+    public void renewLeases() {
+        if (held.isEmpty()) {
+            return;
+        }
+        OffsetDateTime leaseExpiresAt = utc(Instant.now().plusMillis(properties.getLeaseMs()));
+        List<Object[]> batch = new ArrayList<>(held.size());
+        for (String key : held) {
+            batch.add(new Object[] { leaseExpiresAt, key });
+        }
+        jdbcTemplate.batchUpdate("UPDATE idempotency_key SET lease_expires_at = ? WHERE idempotency_key = ? AND response_status IS NULL", batch);
+    }
+
+    @Scheduled(fixedDelayString = "${api.idempotency.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        jdbcTemplate.update("DELETE FROM idempotency_key WHERE expires_at < ?", utc(Instant.now()));
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static final class Row {
+
+        private final String fingerprint;
+
+        private final Integer status;
+
+        private final String contentType;
+
+        private final byte[] body;
+
+        private final OffsetDateTime expiresAt;
+
+        private final OffsetDateTime leaseExpiresAt;
+
+        private Row(String fingerprint, Integer status, String contentType, byte[] body, OffsetDateTime expiresAt,
+                    OffsetDateTime leaseExpiresAt) {
+            this.fingerprint = fingerprint;
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+            this.expiresAt = expiresAt;
+            this.leaseExpiresAt = leaseExpiresAt;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.api.idempotency;
+
+/**
+ * Response recorded for an idempotency key and replayed to duplicate requests.
+ */
+public class StoredResponse {
+
+    private final int status;
+
+    private final String contentType;
+
+    private final byte[] body;
+
+    public StoredResponse(int status, String contentType, byte[] body) {
+        this.status = status;
+        this.contentType = contentType;
+        this.body = body;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+}
@@ -0,0 +1,9 @@
+package com.api.model.event;
+
+/**
+ * Kind of entity a change event refers to.
+ */
+public enum AggregateType {
+    PRODUCT,
+    CATEGORY
+}
@@ -0,0 +1,10 @@
+package com.api.model.event;
+
+/**
+ * Kind of mutation recorded by a change event.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
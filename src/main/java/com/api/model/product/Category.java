@@ -1,5 +1,6 @@
 package com.api.model.product;
 
+import java.time.Instant;
 
 import jakarta.validation.constraints.Size;
 import jakarta.persistence.Column;
@@ -7,6 +8,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Version;
 
 @Entity
 public class Category {
@@ -21,6 +23,13 @@ public class Category {
     @Column(columnDefinition = "TEXT")
     private String description;
 
+    private Instant createdAt;
+
+    private Instant updatedAt;
+
+    @Version
+    private Long version;
+
     public Category() {
     }
 
@@ -52,5 +61,29 @@ public class Category {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
 
@@ -0,0 +1,54 @@
+package com.api.model.product;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Inventory aggregates of one category. Read-only through JPA; the rows are maintained with
+ * incremental SQL updates by {@code CategoryStatsService}.
+ */
+@Entity
+@Immutable
+@Table(name = "category_stats")
+public class CategoryStats {
+    @Id
+    @Column(name = "category_id")
+    private Long idCategory;
+
+    private long productCount;
+
+    private double stockValue;
+
+    private long lowStockCount;
+
+    private Instant updatedAt;
+
+    public CategoryStats() {
+    }
+
+    public Long getIdCategory() {
+        return idCategory;
+    }
+
+    public long getProductCount() {
+        return productCount;
+    }
+
+    public double getStockValue() {
+        return stockValue;
+    }
+
+    public long getLowStockCount() {
+        return lowStockCount;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -1,5 +1,8 @@
 package com.api.model.product;
 
+import java.time.Instant;
+
+import org.hibernate.annotations.DynamicUpdate;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
@@ -7,6 +10,7 @@ import jakarta.validation.constraints.Size;
 
 
 @Entity
+@DynamicUpdate
 public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -26,10 +30,17 @@ public class Product {
     @NotNull
     private Double price;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", referencedColumnName = "idCategory")
     private Category category;
 
+    private Instant createdAt;
+
+    private Instant updatedAt;
+
+    @Version
+    private Long version;
+
     public Product() {
     }
 
@@ -88,4 +99,28 @@ public class Product {
     public void setCategory(Category category) {
         this.category = category;
     }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -1,14 +1,28 @@
 package com.api.model.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class Response {
 
-    private String message;
+    private final String code;
+
+    private final String message;
 
     // Getters and setters
     public Response(String message) {
+        this(null, message);
+    }
+
+    public Response(String code, String message) {
+        this.code = code;
         this.message = message;
     }
 
+    public String getCode() {
+        return code;
+    }
+
     public String getMessage() {
         return message;
     }
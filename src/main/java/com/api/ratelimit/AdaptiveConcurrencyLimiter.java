@@ -0,0 +1,69 @@
+package com.api.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AIMD concurrency limit: grows by roughly one per limit's worth of fast requests and shrinks by 10%
+ * whenever a request exceeds the latency threshold. Requests beyond the current limit are shed.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final long SCALE = 1000;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final long latencyThresholdNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicLong scaledLimit;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.scaledLimit = new AtomicLong(initialLimit * SCALE);
+    }
+
+    /**
+     * Reserves a slot if fewer than the current limit of requests are in flight.
+     *
+     * @return true if the request may proceed and must later call {@link #release(long)}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees the slot taken by {@link #tryAcquire()} and adapts the limit to the observed latency.
+     *
+     * @param latencyNanos how long the request took
+     */
+    public void release(long latencyNanos) {
+        inFlight.decrementAndGet();
+        if (latencyNanos > latencyThresholdNanos) {
+            scaledLimit.updateAndGet(limit -> Math.max(minLimit * SCALE, limit * 9 / 10));
+        } else {
+            scaledLimit.updateAndGet(limit -> Math.min(maxLimit * SCALE, limit + SCALE * SCALE / limit));
+        }
+    }
+
+    public int getLimit() {
+        return (int) (scaledLimit.get() / SCALE);
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,36 @@
+package com.api.ratelimit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Identifies the client behind a request, for the rate limit budgets and the idempotency key scope.
+ * Only API keys listed in {@code api.rate-limit.api-keys} identify a client; any other key is ignored
+ * and the client is identified by its remote address, so sending a new key with every request does
+ * not buy a new budget. The remote address is the client's own as long as forwarded headers are
+ * resolved by the server for trusted proxies only ({@code server.forward-headers-strategy=native}).
+ */
+@Component
+public class ClientKeyResolver {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    /**
+     * Returns the key identifying the caller.
+     *
+     * @param  request  the incoming request
+     * @return          the known API key, or the remote address when no known key is sent
+     */
+    public String resolve(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        if (apiKey != null && properties.getApiKeys().contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,51 @@
+package com.api.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-client token buckets, with separate read and write budgets so a client flooding writes
+ * does not use up its own (or anyone else's) read allowance.
+ */
+@Component
+public class ClientRateLimiter {
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    private final Map<String, TokenBucket> readBuckets = new ConcurrentHashMap<>();
+
+    private final Map<String, TokenBucket> writeBuckets = new ConcurrentHashMap<>();
+
+    /**
+     * Takes a token from the client's read or write bucket.
+     *
+     * @param  clientKey  the API key or address identifying the client
+     * @param  write      true for mutating requests
+     * @return            0 if the request is allowed, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(String clientKey, boolean write) {
+        long now = System.nanoTime();
+        Map<String, TokenBucket> buckets = write ? writeBuckets : readBuckets;
+        RateLimitProperties.Budget budget = write ? properties.getWrite() : properties.getRead();
+        TokenBucket bucket = buckets.get(clientKey);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(clientKey, key -> new TokenBucket(budget.getPermitsPerSecond(), budget.getBurst(), now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    /**
+     * Drops buckets that have refilled completely; an absent bucket behaves exactly like a full one.
+     */
+    @Scheduled(fixedDelayString = "${api.rate-limit.eviction-interval-ms:60000}")
+    public void evictFullBuckets() {
+        long now = System.nanoTime();
+        readBuckets.values().removeIf(bucket -> bucket.isFull(now));
+        writeBuckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+}
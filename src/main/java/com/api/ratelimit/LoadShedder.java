@@ -0,0 +1,73 @@
+package com.api.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Decides whether a write may run, based on an adaptive concurrency limit driven by write latency and
+ * on the number of threads already waiting for a database connection.
+ */
+@Component
+public class LoadShedder {
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @PostConstruct
+    public void init() {
+        limiter = new AdaptiveConcurrencyLimiter(properties.getInitialConcurrencyLimit(), properties.getMinConcurrencyLimit(),
+                properties.getMaxConcurrencyLimit(), TimeUnit.MILLISECONDS.toNanos(properties.getLatencyThresholdMs()));
+        Gauge.builder("api.writes.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit).register(meterRegistry);
+        Gauge.builder("api.writes.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight).register(meterRegistry);
+    }
+
+    /**
+     * Returns true if the connection pool already has more waiters than the configured threshold.
+     *
+     * @return true if writes should be shed to protect the pool
+     */
+    public boolean isPoolSaturated() {
+        if (dataSource instanceof HikariDataSource hikariDataSource) {
+            HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+            return pool != null && pool.getThreadsAwaitingConnection() > properties.getPoolWaitThreshold();
+        }
+        return false;
+    }
+
+    /**
+     * Reserves a slot under the adaptive concurrency limit.
+     *
+     * @return true if the write may proceed and must later call {@link #release(long)}
+     */
+    public boolean tryAcquire() {
+        return limiter.tryAcquire();
+    }
+
+    /**
+     * Releases a slot reserved with {@link #tryAcquire()}.
+     *
+     * @param latencyNanos how long the write took
+     */
+    public void release(long latencyNanos) {
+        limiter.release(latencyNanos);
+    }
+}
@@ -0,0 +1,70 @@
+package com.api.ratelimit;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.api.exception.ErrorCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Sheds writes with 503 when the adaptive concurrency limit is reached or the connection pool is saturated,
+ * and feeds the latency of every admitted write back to the limit. Runs after the idempotency claim, so a
+ * retry waiting for its in-flight twin neither holds a slot nor reports its wait as write latency.
+ */
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private final LoadShedder loadShedder;
+
+    private final String overloadRetryAfter;
+
+    private final byte[] overloadedBody;
+
+    private final Counter shedConcurrency;
+
+    private final Counter shedPool;
+
+    public LoadSheddingFilter(LoadShedder loadShedder, RateLimitProperties properties, ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        this.loadShedder = loadShedder;
+        this.overloadRetryAfter = String.valueOf(properties.getOverloadRetryAfterSeconds());
+        this.overloadedBody = RateLimitFilter.serialize(objectMapper, ErrorCode.SERVICE_OVERLOADED);
+        this.shedConcurrency = meterRegistry.counter("api.requests.shed", "reason", "concurrency");
+        this.shedPool = meterRegistry.counter("api.requests.shed", "reason", "pool");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !RateLimitFilter.isWrite(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (loadShedder.isPoolSaturated()) {
+            shedPool.increment();
+            response.setHeader("Retry-After", overloadRetryAfter);
+            RateLimitFilter.reject(response, ErrorCode.SERVICE_OVERLOADED, overloadedBody);
+            return;
+        }
+        if (!loadShedder.tryAcquire()) {
+            shedConcurrency.increment();
+            response.setHeader("Retry-After", overloadRetryAfter);
+            RateLimitFilter.reject(response, ErrorCode.SERVICE_OVERLOADED, overloadedBody);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            loadShedder.release(System.nanoTime() - start);
+        }
+    }
+}
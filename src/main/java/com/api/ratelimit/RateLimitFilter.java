@@ -0,0 +1,83 @@
+package com.api.ratelimit;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.api.exception.ErrorCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Applies the per-client read/write budgets to every request. Overload is handled separately by
+ * {@link LoadSheddingFilter}, which runs after the idempotency claim; reads are never shed, so they
+ * stay fast while writers misbehave.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final ClientRateLimiter clientRateLimiter;
+
+    private final ClientKeyResolver clientKeyResolver;
+
+    private final byte[] rateLimitedBody;
+
+    private final Counter readLimited;
+
+    private final Counter writeLimited;
+
+    public RateLimitFilter(ClientRateLimiter clientRateLimiter, ClientKeyResolver clientKeyResolver, ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.clientRateLimiter = clientRateLimiter;
+        this.clientKeyResolver = clientKeyResolver;
+        this.rateLimitedBody = serialize(objectMapper, ErrorCode.RATE_LIMITED);
+        this.readLimited = meterRegistry.counter("api.requests.limited", "budget", "read");
+        this.writeLimited = meterRegistry.counter("api.requests.limited", "budget", "write");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean write = isWrite(request);
+        long waitNanos = clientRateLimiter.tryAcquire(clientKeyResolver.resolve(request), write);
+        if (waitNanos > 0) {
+            (write ? writeLimited : readLimited).increment();
+            response.setHeader("Retry-After", String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos))));
+            reject(response, ErrorCode.RATE_LIMITED, rateLimitedBody);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+            return false;
+        }
+        // POST lookups only carry a large id list; they read like a GET
+        return !request.getRequestURI().endsWith("/lookup");
+    }
+
+    static void reject(HttpServletResponse response, ErrorCode errorCode, byte[] body) throws IOException {
+        response.setStatus(errorCode.getStatus().value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    static byte[] serialize(ObjectMapper objectMapper, ErrorCode errorCode) {
+        try {
+            return objectMapper.writeValueAsBytes(errorCode.toResponseEntity().getBody());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize " + errorCode, e);
+        }
+    }
+}
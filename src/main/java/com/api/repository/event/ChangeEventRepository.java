@@ -0,0 +1,54 @@
+package com.api.repository.event;
+
+import com.api.model.event.AggregateType;
+import com.api.model.event.ChangeEvent;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long> {
+
+    /**
+     * Finds the events recorded after the given offset, oldest first.
+     *
+     * @param idEvent the offset to start after (exclusive)
+     * @param pageable the maximum number of events to return
+     * @return the events after the offset in offset order
+     */
+    List<ChangeEvent> findByIdEventGreaterThanOrderByIdEventAsc(Long idEvent, Pageable pageable);
+
+    /**
+     * Returns the offset of the newest event in the outbox.
+     *
+     * @return the highest offset, or 0 if the outbox is empty
+     */
+    @Query("SELECT COALESCE(MAX(e.idEvent), 0) FROM ChangeEvent e")
+    Long findLatestOffset();
+
+    /**
+     * Finds the events of one kind of entity recorded after the given offset, oldest first.
+     *
+     * @param aggregateType the kind of entity
+     * @param idEvent the offset to start after (exclusive)
+     * @param pageable the maximum number of events to return
+     * @return the matching events in offset order
+     */
+    List<ChangeEvent> findByAggregateTypeAndIdEventGreaterThanOrderByIdEventAsc(AggregateType aggregateType, Long idEvent, Pageable pageable);
+
+    /**
+     * Tells whether more than the given number of events were recorded after an offset, reading at most
+     * that many primary key entries instead of counting the whole tail of the outbox.
+     *
+     * @param idEvent the offset to start after (exclusive)
+     * @param limit the number of events to allow
+     * @return true if more than limit events follow the offset
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM change_event WHERE id_event > :idEvent ORDER BY id_event OFFSET :limit)", nativeQuery = true)
+    boolean existsMoreEventsAfter(@Param("idEvent") Long idEvent, @Param("limit") int limit);
+}
@@ -1,29 +1,47 @@
 package com.api.repository.product;
 
 import com.api.model.product.Category;
+
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import java.util.Optional;
+
+import jakarta.persistence.LockModeType;
 
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     
     /**
-     * Checks if a category exists in the repository based on the provided name.
+     * Checks if a category exists in the repository based on the provided name, ignoring case.
+     * Served by the uk_category_name_upper unique expression index.
      * 
      * @param name the name of the category to check
      * @return true if the category exists, false otherwise
      */
-    boolean existsCategoryByName(String name);
+    boolean existsCategoryByNameIgnoreCase(String name);
     /**
-     * Finds a category in the repository based on the provided name and ID.
-     * The category found must not have the same ID as the one provided.
+     * Checks if a category other than the one with the provided ID has the provided name, ignoring case.
      * 
      * @param name the name of the category to find
      * @param idCategory the ID of the category to exclude from the search
-     * @return the category if found, empty otherwise
+     * @return true if such a category exists, false otherwise
+     */
+    boolean existsByNameIgnoreCaseAndIdCategoryNot(String name, Long idCategory);
+
+    /**
+     * Finds a category and locks its row until the end of the transaction. Inserting or moving a product
+     * into a locked category waits on the foreign key check, so the category cannot gain products meanwhile.
+     *
+     * @param idCategory the ID of the category to lock
+     * @return the category, or empty if it does not exist
      */
-    Optional<Category> findByNameAndIdCategoryNot(String name, Long idCategory);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Category c WHERE c.idCategory = :idCategory")
+    Optional<Category> findByIdForUpdate(@Param("idCategory") Long idCategory);
 
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.api.repository.product;
+
+import com.api.model.product.CategoryStats;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CategoryStatsRepository extends JpaRepository<CategoryStats, Long> {
+
+    /**
+     * Finds the aggregates of every category.
+     *
+     * @return the aggregates ordered by category ID
+     */
+    List<CategoryStats> findAllByOrderByIdCategoryAsc();
+}
@@ -2,31 +2,50 @@ package com.api.repository.product;
 
 import com.api.model.product.Product;
 
-import java.util.Optional;
+import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>, ProductSearchRepository {
     
     /**
-     * Checks if a product exists in the repository based on the provided name.
+     * Checks if a product exists in the repository based on the provided name, ignoring case.
+     * Served by the uk_product_name_upper unique expression index.
      * 
      * @param name the name of the product to check
      * @return true if the product exists, false otherwise
      */
-    boolean existsProductByName(String name);
+    boolean existsProductByNameIgnoreCase(String name);
 
     /**
-     * Finds a product in the repository based on the provided name and ID.
-     * The product found must not have the same ID as the one provided.
+     * Checks if a product other than the one with the provided ID has the provided name, ignoring case.
      * 
      * @param name the name of the product to find
      * @param idProduct the ID of the product to exclude from the search
-     * @return the product if found, empty otherwise
+     * @return true if such a product exists, false otherwise
      */
-    Optional<Product> findByNameAndIdProductNot(String name, Long idProduct);
+    boolean existsByNameIgnoreCaseAndIdProductNot(String name, Long idProduct);
+
+    /**
+     * Finds the products with an ID above the given one, in ID order.
+     *
+     * @param idProduct the ID to start after (exclusive)
+     * @param pageable the maximum number of products to return
+     * @return the next products in ID order
+     */
+    List<Product> findByIdProductGreaterThanOrderByIdProductAsc(Long idProduct, Pageable pageable);
+
+    /**
+     * Checks if any product belongs to the given category. Served by the idx_product_category_id index.
+     *
+     * @param idCategory the ID of the category
+     * @return true if the category has at least one product, false otherwise
+     */
+    boolean existsByCategoryIdCategory(Long idCategory);
 }
 
 /*
@@ -0,0 +1,24 @@
+package com.api.repository.product;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.api.model.product.Product;
+
+/**
+ * Listing queries that page without the COUNT query of {@code findAll(Specification, Pageable)},
+ * which would scan every matching row on each request.
+ */
+public interface ProductSearchRepository {
+
+    /**
+     * Finds one page of the products matching a specification, fetching one extra row to tell whether
+     * a next page exists.
+     *
+     * @param specification the criteria to match
+     * @param pageable the page to return and its sort order
+     * @return the products of the page
+     */
+    Slice<Product> findSlice(Specification<Product> specification, Pageable pageable);
+}
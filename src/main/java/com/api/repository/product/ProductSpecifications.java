@@ -0,0 +1,64 @@
+package com.api.repository.product;
+
+import java.util.Collection;
+
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.api.model.product.Product;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+
+/**
+ * Criteria for the product search. Each one can use an index on its own: category_id, price,
+ * total_quantity and upper(name), the latter both as btree (equality, and prefix under the C collation)
+ * and trigram (prefix, substring).
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> categoryIn(Collection<Long> idCategories) {
+        return (root, query, cb) -> root.get("category").get("idCategory").in(idCategories);
+    }
+
+    public static <T extends Comparable<? super T>> Specification<Product> compare(String attribute, Operator operator, T value) {
+        return (root, query, cb) -> switch (operator) {
+            case EQ -> cb.equal(root.<T>get(attribute), value);
+            case GT -> cb.greaterThan(root.<T>get(attribute), value);
+            case GTE -> cb.greaterThanOrEqualTo(root.<T>get(attribute), value);
+            case LT -> cb.lessThan(root.<T>get(attribute), value);
+            case LTE -> cb.lessThanOrEqualTo(root.<T>get(attribute), value);
+        };
+    }
+
+    public static Specification<Product> nameEqualsIgnoreCase(String name) {
+        return (root, query, cb) -> cb.equal(cb.upper(root.<String>get("name")), upper(cb, name));
+    }
+
+    public static Specification<Product> nameStartsWithIgnoreCase(String prefix) {
+        return (root, query, cb) -> cb.like(cb.upper(root.<String>get("name")), upper(cb, escapeLike(prefix) + "%"), '\\');
+    }
+
+    public static Specification<Product> nameContainsIgnoreCase(String fragment) {
+        return (root, query, cb) -> cb.like(cb.upper(root.<String>get("name")), upper(cb, "%" + escapeLike(fragment) + "%"), '\\');
+    }
+
+    /**
+     * The value as a bound parameter upper-cased by the database, so it folds case exactly like the
+     * upper(name) column side and its indexes, whatever the JVM locale.
+     */
+    private static Expression<String> upper(CriteriaBuilder cb, String value) {
+        return cb.upper(((HibernateCriteriaBuilder) cb).value(value));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    public enum Operator {
+        EQ, GT, GTE, LT, LTE
+    }
+}
@@ -0,0 +1,57 @@
+package com.api.service.event;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.api.dto.event.ChangeEventDTO;
+
+/**
+ * Polls the outbox for committed events and hands them to every registered sink.
+ * Starts from the newest offset at boot; consumers that need older events resume
+ * through the offset-based endpoints instead.
+ */
+@Component
+public class ChangeEventRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventRelay.class);
+
+    @Autowired
+    private ChangeEventService changeEventService;
+
+    @Autowired
+    private List<ChangeEventSink> sinks;
+
+    @Value("${api.events.relay-batch-size:500}")
+    private int batchSize;
+
+    private long lastRelayedOffset = -1;
+
+    @Scheduled(fixedDelayString = "${api.events.relay-interval-ms:500}")
+    public void relay() {
+        if (lastRelayedOffset < 0) {
+            lastRelayedOffset = changeEventService.findLatestOffset();
+            return;
+        }
+        List<ChangeEventDTO> events;
+        do {
+            events = changeEventService.findEventsAfter(lastRelayedOffset, batchSize);
+            if (events.isEmpty()) {
+                return;
+            }
+            for (ChangeEventSink sink : sinks) {
+                try {
+                    sink.publish(events);
+                } catch (RuntimeException e) {
+                    log.warn("Change event sink {} failed", sink.getClass().getSimpleName(), e);
+                }
+            }
+            lastRelayedOffset = events.get(events.size() - 1).getOffset();
+        } while (events.size() == batchSize);
+    }
+}
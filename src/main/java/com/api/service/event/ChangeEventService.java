@@ -0,0 +1,200 @@
+package com.api.service.event;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.api.dto.event.ChangeEventDTO;
+import com.api.model.event.AggregateType;
+import com.api.model.event.ChangeEvent;
+import com.api.model.event.ChangeType;
+import com.api.repository.event.ChangeEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@Service
+public class ChangeEventService {
+
+    /** Advisory lock key that serializes appends to the outbox ("outbox" in ASCII). */
+    private static final long OUTBOX_LOCK_KEY = 0x6f7574626f78L;
+
+    @Autowired
+    private ChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Appends a change event to the outbox. Must be called inside the transaction that performs
+     * the write, so the event is committed or rolled back together with it.
+     *
+     * @param  aggregateType  the kind of entity that changed
+     * @param  aggregateId    the ID of the entity that changed
+     * @param  changeType     the kind of change
+     * @param  payload        the new state of the entity, or null for deletions
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(AggregateType aggregateType, Long aggregateId, ChangeType changeType, Object payload) {
+        pendingEvents().add(toRow(aggregateType, aggregateId, changeType, payload, Instant.now()));
+    }
+
+    /**
+     * Appends one change event per entity. Must be called inside the transaction that performs the writes.
+     *
+     * @param  aggregateType  the kind of entities that changed
+     * @param  changeType     the kind of change
+     * @param  payloads       the new state of each entity keyed by ID; null values for deletions
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(AggregateType aggregateType, ChangeType changeType, Map<Long, ?> payloads) {
+        Instant now = Instant.now();
+        List<Object[]> pending = pendingEvents();
+        payloads.forEach((id, payload) -> pending.add(toRow(aggregateType, id, changeType, payload, now)));
+    }
+
+    /**
+     * Retrieves the events recorded after the given offset, oldest first.
+     *
+     * @param  offset  the offset to start after (exclusive)
+     * @param  limit   the maximum number of events to return
+     * @return         the events after the offset as ChangeEventDTO objects
+     */
+    @Transactional(readOnly = true)
+    public List<ChangeEventDTO> findEventsAfter(long offset, int limit) {
+        return changeEventRepository.findByIdEventGreaterThanOrderByIdEventAsc(offset, PageRequest.of(0, limit)).stream()
+                .map(this::convertChangeEventToDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Retrieves the events of one kind of entity recorded after the given offset, oldest first.
+     *
+     * @param  aggregateType  the kind of entity
+     * @param  offset         the offset to start after (exclusive)
+     * @param  limit          the maximum number of events to return
+     * @return                the matching events as ChangeEventDTO objects
+     */
+    @Transactional(readOnly = true)
+    public List<ChangeEventDTO> findEventsAfter(AggregateType aggregateType, long offset, int limit) {
+        return changeEventRepository.findByAggregateTypeAndIdEventGreaterThanOrderByIdEventAsc(aggregateType, offset, PageRequest.of(0, limit)).stream()
+                .map(this::convertChangeEventToDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Tells whether more than the given number of events were recorded after an offset.
+     *
+     * @param  offset  the offset to start after (exclusive)
+     * @param  limit   the number of events to allow
+     * @return         true if more than limit events follow the offset
+     */
+    @Transactional(readOnly = true)
+    public boolean hasMoreEventsAfter(long offset, int limit) {
+        return changeEventRepository.existsMoreEventsAfter(offset, limit);
+    }
+
+    /**
+     * Returns the offset of the newest event in the outbox.
+     *
+     * @return the highest offset, or 0 if no event has been recorded yet
+     */
+    public long findLatestOffset() {
+        return changeEventRepository.findLatestOffset();
+    }
+
+    /**
+     * Returns the events collected by the current transaction, registering the synchronization that
+     * appends them on the first call.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object[]> pendingEvents() {
+        List<Object[]> pending = (List<Object[]>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        List<Object[]> rows = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, rows);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                append(rows);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ChangeEventService.this);
+            }
+        });
+        return rows;
+    }
+
+    /**
+     * Inserts the events of the committing transaction with a single JDBC batch. Offsets are identity
+     * values, which are handed out at insert time; the transaction-scoped advisory lock makes every
+     * writer insert and commit in turn, so offsets become visible in increasing order and a consumer
+     * that has seen offset N can never be handed an offset below N later. The entity changes are
+     * flushed first so the lock is only held for the insert and the commit itself.
+     */
+    private void append(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + OUTBOX_LOCK_KEY + ")");
+        jdbcTemplate.batchUpdate("INSERT INTO change_event (aggregate_type, aggregate_id, change_type, payload, created_at) VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    private Object[] toRow(AggregateType aggregateType, Long aggregateId, ChangeType changeType, Object payload, Instant createdAt) {
+        return new Object[] { aggregateType.name(), aggregateId, changeType.name(), toJson(payload), OffsetDateTime.ofInstant(createdAt, ZoneOffset.UTC) };
+    }
+
+    private String toJson(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize change event payload", e);
+        }
+    }
+
+    /**
+     * Converts a ChangeEvent entity to a ChangeEventDTO.
+     *
+     * @param  changeEvent  the ChangeEvent entity to convert
+     * @return              the converted ChangeEventDTO
+     */
+    private ChangeEventDTO convertChangeEventToDTO(ChangeEvent changeEvent) {
+        ChangeEventDTO changeEventDTO = new ChangeEventDTO();
+        changeEventDTO.setOffset(changeEvent.getIdEvent());
+        changeEventDTO.setAggregateType(changeEvent.getAggregateType());
+        changeEventDTO.setAggregateId(changeEvent.getAggregateId());
+        changeEventDTO.setChangeType(changeEvent.getChangeType());
+        changeEventDTO.setPayload(changeEvent.getPayload());
+        changeEventDTO.setCreatedAt(changeEvent.getCreatedAt());
+        return changeEventDTO;
+    }
+}
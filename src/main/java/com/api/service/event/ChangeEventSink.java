@@ -0,0 +1,20 @@
+package com.api.service.event;
+
+import java.util.List;
+
+import com.api.dto.event.ChangeEventDTO;
+
+/**
+ * Destination the outbox relay publishes committed change events to.
+ * Events are delivered in offset order; a sink may see the same event again
+ * after a restart and is expected to skip offsets it has already handled.
+ */
+public interface ChangeEventSink {
+
+    /**
+     * Publishes a batch of committed events.
+     *
+     * @param events the events to publish, in ascending offset order
+     */
+    void publish(List<ChangeEventDTO> events);
+}
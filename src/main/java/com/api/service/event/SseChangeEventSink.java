@@ -0,0 +1,124 @@
+package com.api.service.event;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.api.dto.event.ChangeEventDTO;
+import com.api.exception.ApiException;
+import com.api.exception.ErrorCode;
+
+/**
+ * In-process sink that streams change events to Server-Sent Events subscribers.
+ * Each subscriber tracks the last offset it received, so replayed and live events
+ * can overlap without being delivered twice.
+ */
+@Component
+public class SseChangeEventSink implements ChangeEventSink {
+
+    @Autowired
+    private ChangeEventService changeEventService;
+
+    @Value("${api.events.sse-timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${api.events.relay-batch-size:500}")
+    private int batchSize;
+
+    @Value("${api.events.sse-max-replay:1000}")
+    private int maxReplay;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Opens a stream that first replays the events after the given offset and then follows live events.
+     * The replay runs before the controller returns the emitter, so every replayed event is buffered in
+     * memory until the response starts; a client further behind than api.events.sse-max-replay events is
+     * refused and must page through GET /api/v1/events first.
+     *
+     * @param  afterOffset  the last offset the client has already seen
+     * @return              the emitter to return from the controller
+     * @throws ApiException  if more than api.events.sse-max-replay events follow the offset
+     */
+    public SseEmitter subscribe(long afterOffset) {
+        if (changeEventService.hasMoreEventsAfter(afterOffset, maxReplay)) {
+            throw new ApiException(ErrorCode.EVENT_REPLAY_TOO_LARGE);
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, afterOffset);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        // Catch up without blocking the relay, then finish under the subscriber lock so no
+        // event committed in between is skipped; live events are de-duplicated by offset.
+        catchUp(subscriber);
+        synchronized (subscriber) {
+            catchUp(subscriber);
+            subscriber.live = true;
+        }
+        return emitter;
+    }
+
+    @Override
+    public void publish(List<ChangeEventDTO> events) {
+        for (Subscriber subscriber : subscribers) {
+            synchronized (subscriber) {
+                if (subscriber.live) {
+                    subscriber.send(events);
+                }
+            }
+        }
+    }
+
+    private void catchUp(Subscriber subscriber) {
+        List<ChangeEventDTO> events;
+        do {
+            events = changeEventService.findEventsAfter(subscriber.lastOffset, batchSize);
+            if (!subscriber.send(events)) {
+                return;
+            }
+        } while (events.size() == batchSize);
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private long lastOffset;
+
+        private boolean live;
+
+        private Subscriber(SseEmitter emitter, long lastOffset) {
+            this.emitter = emitter;
+            this.lastOffset = lastOffset;
+        }
+
+        private synchronized boolean send(List<ChangeEventDTO> events) {
+            for (ChangeEventDTO event : events) {
+                if (event.getOffset() <= lastOffset) {
+                    continue;
+                }
+                try {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.getOffset()))
+                            .name(event.getAggregateType().name())
+                            .data(event, MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    subscribers.remove(this);
+                    emitter.completeWithError(e);
+                    return false;
+                }
+                lastOffset = event.getOffset();
+            }
+            return true;
+        }
+    }
+}
@@ -1,12 +1,24 @@
 package com.api.service.product;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.api.cache.CacheInvalidationBus;
+import com.api.cache.VersionedCache;
 import com.api.dto.product.CategoryDTO;
+import com.api.dto.product.CategoryDeleteMode;
+import com.api.exception.ApiException;
+import com.api.exception.ErrorCode;
+import com.api.model.event.AggregateType;
+import com.api.model.event.ChangeType;
 import com.api.model.product.Category;
 import com.api.repository.product.CategoryRepository;
+import com.api.repository.product.ProductRepository;
+import com.api.service.event.ChangeEventService;
 
 @Service
 public class CategoryService {
@@ -14,6 +26,24 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ChangeEventService changeEventService;
+
+    @Autowired
+    private CategoryStatsService categoryStatsService;
+
+    @Autowired
+    private VersionedCache<CategoryDTO> categoryCache;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
     /**
      * Retrieves all categories from the repository and maps each category to a CategoryDTO object.
      *
@@ -26,15 +56,22 @@ public class CategoryService {
     }
 
     /**
-     * Retrieves a CategoryDTO object by its ID from the category repository.
+     * Retrieves a CategoryDTO object by its ID, from the category cache when present.
      *
      * @param  id  the ID of the category to retrieve
-     * @return     the CategoryDTO object corresponding to the given ID, or null if not found
+     * @return     the CategoryDTO object corresponding to the given ID, or empty if not found
      */
-    public CategoryDTO findCategoryById(Long id) {
+    public Optional<CategoryDTO> findCategoryById(Long id) {
+        CategoryDTO cached = categoryCache.get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
         return categoryRepository.findById(id)
-                .map(this::convertCategoryToDTO)
-                .orElse(null);
+                .map(category -> {
+                    CategoryDTO categoryDTO = convertCategoryToDTO(category);
+                    categoryCache.put(id, categoryDTO, category.getVersion());
+                    return categoryDTO;
+                });
     }
 
     /**
@@ -42,10 +79,21 @@ public class CategoryService {
      *
      * @param  categoryDTO  the CategoryDTO object to save
      * @return              the saved CategoryDTO object
+     * @throws ApiException   if the name is already taken
      */
+    @Transactional
     public CategoryDTO saveCategory(CategoryDTO categoryDTO) {
+        if (categoryRepository.existsCategoryByNameIgnoreCase(categoryDTO.getName())) {
+            throw new ApiException(ErrorCode.CATEGORY_NAME_CONFLICT);
+        }
         Category category = convertCategoryToEntity(categoryDTO);
-        return convertCategoryToDTO(categoryRepository.save(category));
+        Instant now = Instant.now();
+        category.setCreatedAt(now);
+        category.setUpdatedAt(now);
+        CategoryDTO savedCategory = convertCategoryToDTO(categoryRepository.save(category));
+        categoryStatsService.initialize(savedCategory.getIdCategory());
+        changeEventService.record(AggregateType.CATEGORY, savedCategory.getIdCategory(), ChangeType.CREATED, savedCategory);
+        return savedCategory;
     }
 
 
@@ -54,44 +102,93 @@ public class CategoryService {
      *
      * @param  id          the ID of the category to update
      * @param  categoryDTO  the updated category details
-     * @return              the updated category as a CategoryDTO, or throws an exception if the category is not found
+     * @return              the updated category as a CategoryDTO
+     * @throws ApiException   if the category does not exist or the new name is already taken
      */
+    @Transactional
     public CategoryDTO updateCategory(Long id, CategoryDTO categoryDTO) {
         Category category = categoryRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Category not found"));
+                .orElseThrow(() -> new ApiException(ErrorCode.CATEGORY_NOT_FOUND));
     
         boolean updated = false;
     
         if (categoryDTO.getName() != null && !categoryDTO.getName().equals(category.getName())) {
-            if (categoryDTO.getName().trim().isEmpty() || categoryDTO.getName().length() < 4 || categoryDTO.getName().length() > 50) {
-                throw new IllegalArgumentException("Product name must be between 4 and 50 characters");
+            if (existsCategoryByNameExcludingId(categoryDTO.getName(), id)) {
+                throw new ApiException(ErrorCode.CATEGORY_NAME_CONFLICT);
             }
             category.setName(categoryDTO.getName());
             updated = true;
         }
     
         if (categoryDTO.getDescription() != null && !categoryDTO.getDescription().equals(category.getDescription())) {
-            if (categoryDTO.getDescription().trim().isEmpty() || categoryDTO.getDescription().length() < 10) {
-                throw new IllegalArgumentException("Category description must be at least 10 characters");
-            }
             category.setDescription(categoryDTO.getDescription());
             updated = true;
         }
     
         if (updated) {
-            return convertCategoryToDTO(categoryRepository.save(category));
+            category.setUpdatedAt(Instant.now());
+            // Flushed right away so the new version is known for the cache invalidation
+            CategoryDTO updatedCategory = convertCategoryToDTO(categoryRepository.saveAndFlush(category));
+            changeEventService.record(AggregateType.CATEGORY, id, ChangeType.UPDATED, updatedCategory);
+            cacheInvalidationBus.invalidateAfterCommit(AggregateType.CATEGORY, id, category.getVersion());
+            return updatedCategory;
         } else {
             return convertCategoryToDTO(category);
         }
     }
 
     /**
-     * Deletes a category from the repository based on the provided category ID.
+     * Deletes a category, first dealing with its products according to the given mode. Everything runs in
+     * one transaction: the category row is locked up front so no product can be added to it meanwhile,
+     * and with {@link CategoryDeleteMode#REASSIGN} the target is locked too, so it cannot be deleted while
+     * products move into it. Both are locked in ascending ID order, so two reassignments in opposite
+     * directions cannot deadlock. The products are moved or deleted with chunked set-based statements;
+     * chunking bounds the size of each statement, not the locks: every category and product row touched
+     * stays locked until the whole deletion commits, so writes to those products wait for it.
      *
-     * @param  id  the ID of the category to delete
+     * @param  id                the ID of the category to delete
+     * @param  mode              what to do with the products of the category
+     * @param  targetCategoryId  the category receiving the products with {@link CategoryDeleteMode#REASSIGN}
+     * @return                   the number of products reassigned or deleted
+     * @throws ApiException  if the category does not exist, still has products with {@link CategoryDeleteMode#REJECT},
+     *                       or the reassignment target is missing or invalid
      */
-    public void deleteCategory(Long id) {
-        categoryRepository.deleteById(id);
+    @Transactional
+    public int deleteCategory(Long id, CategoryDeleteMode mode, Long targetCategoryId) {
+        if (mode == CategoryDeleteMode.REASSIGN && (targetCategoryId == null || targetCategoryId.equals(id))) {
+            throw new ApiException(ErrorCode.INVALID_REASSIGN_TARGET);
+        }
+        boolean targetFirst = mode == CategoryDeleteMode.REASSIGN && targetCategoryId < id;
+        if (targetFirst) {
+            lockReassignTarget(targetCategoryId);
+        }
+        Category category = categoryRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ApiException(ErrorCode.CATEGORY_NOT_FOUND));
+        int affectedProducts = switch (mode) {
+            case REJECT -> {
+                if (productRepository.existsByCategoryIdCategory(id)) {
+                    throw new ApiException(ErrorCode.CATEGORY_NOT_EMPTY);
+                }
+                yield 0;
+            }
+            case REASSIGN -> {
+                if (!targetFirst) {
+                    lockReassignTarget(targetCategoryId);
+                }
+                yield productService.reassignProductsOfCategory(id, targetCategoryId);
+            }
+            case CASCADE -> productService.deleteProductsOfCategory(id);
+        };
+        categoryRepository.delete(category);
+        changeEventService.record(AggregateType.CATEGORY, id, ChangeType.DELETED, null);
+        cacheInvalidationBus.invalidateAfterCommit(AggregateType.CATEGORY, id, category.getVersion() + 1);
+        return affectedProducts;
+    }
+
+    private void lockReassignTarget(Long targetCategoryId) {
+        if (categoryRepository.findByIdForUpdate(targetCategoryId).isEmpty()) {
+            throw new ApiException(ErrorCode.INVALID_REASSIGN_TARGET);
+        }
     }
 
     /**
@@ -110,11 +207,11 @@ public class CategoryService {
      * @return     true if the category exists, false otherwise
      */
     public boolean existsCategoryByName(String name) {
-        return categoryRepository.existsCategoryByName(name);
+        return categoryRepository.existsCategoryByNameIgnoreCase(name);
     }
 
     public boolean existsCategoryByNameExcludingId(String name, Long id) {
-        return categoryRepository.findByNameAndIdCategoryNot(name, id).isPresent();
+        return categoryRepository.existsByNameIgnoreCaseAndIdCategoryNot(name, id);
     }
     
     /**
@@ -0,0 +1,253 @@
+package com.api.service.product;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.dto.product.CategoryStatsDTO;
+import com.api.model.product.CategoryStats;
+import com.api.repository.product.CategoryStatsRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Maintains the per-category inventory aggregates (product count, stock value and low-stock count).
+ * Product writes apply their deltas in the same transaction, so reads are a primary key lookup instead
+ * of a scan of the catalog. A scheduled job recomputes each category from the product table to repair
+ * drift, e.g. floating point error on the stock value or rows changed outside the API. Concurrent updates
+ * of one product cannot both apply a delta computed from the same old state, because the product version
+ * check rejects the second.
+ */
+@Service
+public class CategoryStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryStatsService.class);
+
+    private static final String APPLY_DELTA = "INSERT INTO category_stats (category_id, product_count, stock_value, low_stock_count, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?) ON CONFLICT (category_id) DO UPDATE SET "
+            + "product_count = category_stats.product_count + EXCLUDED.product_count, "
+            + "stock_value = category_stats.stock_value + EXCLUDED.stock_value, "
+            + "low_stock_count = category_stats.low_stock_count + EXCLUDED.low_stock_count, "
+            + "updated_at = EXCLUDED.updated_at";
+
+    private static final String RECONCILE_CATEGORY = "UPDATE category_stats s SET product_count = a.product_count, "
+            + "stock_value = a.stock_value, low_stock_count = a.low_stock_count, updated_at = ? "
+            + "FROM (SELECT count(*) AS product_count, coalesce(sum(price * total_quantity), 0) AS stock_value, "
+            + "count(*) FILTER (WHERE total_quantity <= ?) AS low_stock_count FROM product WHERE category_id = ?) a "
+            + "WHERE s.category_id = ? AND (s.product_count <> a.product_count OR s.low_stock_count <> a.low_stock_count "
+            + "OR abs(s.stock_value - a.stock_value) > 1e-9 * greatest(abs(a.stock_value), 1))";
+
+    @Autowired
+    private CategoryStatsRepository categoryStatsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${api.category-stats.low-stock-threshold:5}")
+    private int lowStockThreshold;
+
+    private Counter corrections;
+
+    @PostConstruct
+    void registerMetrics() {
+        corrections = meterRegistry.counter("api.category-stats.corrections");
+    }
+
+    /**
+     * Retrieves the aggregates of a category.
+     *
+     * @param  id  the ID of the category
+     * @return     the aggregates, or empty if the category does not exist
+     */
+    public Optional<CategoryStatsDTO> findStatsByCategoryId(Long id) {
+        return categoryStatsRepository.findById(id).map(this::convertStatsToDTO);
+    }
+
+    /**
+     * Retrieves the aggregates of every category.
+     *
+     * @return  the aggregates ordered by category ID
+     */
+    public List<CategoryStatsDTO> findAllStats() {
+        return categoryStatsRepository.findAllByOrderByIdCategoryAsc().stream()
+                .map(this::convertStatsToDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Starts collecting the aggregate changes of a write.
+     *
+     * @return  an empty set of changes, to pass to {@link #apply} once the products are modified
+     */
+    public Changes changes() {
+        return new Changes(lowStockThreshold);
+    }
+
+    /**
+     * Applies the collected deltas with one upsert per category, in category ID order so concurrent writers
+     * lock the aggregate rows in the same order. Must be called inside the transaction that modifies the
+     * products, so the aggregates commit or roll back together with them.
+     *
+     * @param  changes  the deltas to apply
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Changes changes) {
+        if (changes.deltas.isEmpty()) {
+            return;
+        }
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<Object[]> batch = new ArrayList<>(changes.deltas.size());
+        for (Map.Entry<Long, Delta> entry : changes.deltas.entrySet()) {
+            Delta delta = entry.getValue();
+            if (!delta.isEmpty()) {
+                batch.add(new Object[] { entry.getKey(), delta.productCount, delta.stockValue, delta.lowStockCount, now });
+            }
+        }
+        jdbcTemplate.batchUpdate(APPLY_DELTA, batch);
+    }
+
+    /**
+     * Creates the empty aggregates of a new category.
+     *
+     * @param  id  the ID of the category
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void initialize(Long id) {
+        jdbcTemplate.update("INSERT INTO category_stats (category_id, updated_at) VALUES (?, ?) ON CONFLICT (category_id) DO NOTHING",
+                id, OffsetDateTime.now(ZoneOffset.UTC));
+    }
+
+    /**
+     * Recomputes every category from the product table and overwrites the aggregates that drifted.
+     * Each category is reconciled in its own short transaction: the aggregate row is locked first and the
+     * products are counted afterwards, so a concurrent write either commits before the count (and is
+     * included in it) or applies its delta after the overwrite.
+     *
+     * @return  the number of categories whose aggregates were corrected
+     */
+    @Scheduled(fixedDelayString = "${api.category-stats.reconcile-interval-ms:300000}",
+            initialDelayString = "${api.category-stats.reconcile-initial-delay-ms:10000}")
+    public int reconcile() {
+        jdbcTemplate.update("INSERT INTO category_stats (category_id, updated_at) SELECT id_category, ? FROM category "
+                + "ON CONFLICT (category_id) DO NOTHING", OffsetDateTime.now(ZoneOffset.UTC));
+        List<Long> ids = jdbcTemplate.queryForList("SELECT category_id FROM category_stats ORDER BY category_id", Long.class);
+        int corrected = 0;
+        for (Long id : ids) {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> reconcileCategory(id)))) {
+                corrected++;
+            }
+        }
+        if (corrected > 0) {
+            corrections.increment(corrected);
+            log.warn("Corrected the inventory aggregates of {} of {} categories", corrected, ids.size());
+        }
+        return corrected;
+    }
+
+    private boolean reconcileCategory(Long id) {
+        List<Long> locked = jdbcTemplate.queryForList("SELECT category_id FROM category_stats WHERE category_id = ? FOR UPDATE",
+                Long.class, id);
+        if (locked.isEmpty()) {
+            return false;
+        }
+        return jdbcTemplate.update(RECONCILE_CATEGORY, OffsetDateTime.now(ZoneOffset.UTC), lowStockThreshold, id, id) == 1;
+    }
+
+    /**
+     * Converts a CategoryStats entity to a CategoryStatsDTO.
+     *
+     * @param  stats  the CategoryStats entity to convert
+     * @return        the converted CategoryStatsDTO
+     */
+    private CategoryStatsDTO convertStatsToDTO(CategoryStats stats) {
+        return new CategoryStatsDTO(stats.getIdCategory(), stats.getProductCount(), stats.getStockValue(),
+                stats.getLowStockCount(), lowStockThreshold, stats.getUpdatedAt());
+    }
+
+    /**
+     * Aggregate deltas collected while a write modifies products: remove the old state of each product,
+     * add the new one, and the per-category differences fall out.
+     */
+    public static final class Changes {
+
+        private final int lowStockThreshold;
+
+        private final Map<Long, Delta> deltas = new TreeMap<>();
+
+        private Changes(int lowStockThreshold) {
+            this.lowStockThreshold = lowStockThreshold;
+        }
+
+        /**
+         * Counts a product state into its category.
+         *
+         * @param  idCategory     the category of the product, or null if it has none
+         * @param  price          the price of the product
+         * @param  totalQuantity  the quantity in stock
+         */
+        public void add(Long idCategory, Double price, Integer totalQuantity) {
+            accumulate(idCategory, price, totalQuantity, 1);
+        }
+
+        /**
+         * Removes a product state from its category.
+         *
+         * @param  idCategory     the category of the product, or null if it has none
+         * @param  price          the price of the product
+         * @param  totalQuantity  the quantity in stock
+         */
+        public void remove(Long idCategory, Double price, Integer totalQuantity) {
+            accumulate(idCategory, price, totalQuantity, -1);
+        }
+
+        private void accumulate(Long idCategory, Double price, Integer totalQuantity, int sign) {
+            if (idCategory == null) {
+                return;
+            }
+            Delta delta = deltas.computeIfAbsent(idCategory, id -> new Delta());
+            delta.productCount += sign;
+            delta.stockValue += sign * price * totalQuantity;
+            if (totalQuantity <= lowStockThreshold) {
+                delta.lowStockCount += sign;
+            }
+        }
+    }
+
+    private static final class Delta {
+
+        private long productCount;
+
+        private double stockValue;
+
+        private long lowStockCount;
+
+        private boolean isEmpty() {
+            return productCount == 0 && stockValue == 0 && lowStockCount == 0;
+        }
+    }
+}
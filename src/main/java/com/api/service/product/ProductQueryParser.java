@@ -0,0 +1,232 @@
+package com.api.service.product;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.api.exception.ApiException;
+import com.api.exception.ErrorCode;
+import com.api.model.product.Product;
+import com.api.repository.product.ProductSpecifications;
+import com.api.repository.product.ProductSpecifications.Operator;
+
+/**
+ * Parses the filter and sort parameters of the product search.
+ * <p>
+ * Filter: comma-separated {@code field:operator:value} clauses, all of which must match, e.g.
+ * {@code idCategory:eq:3,price:gte:10,price:lt:50,name:prefix:iph}. A backslash escapes the character after
+ * it, so a value containing a comma or a backslash is written with {@code \,} or {@code \\}.
+ * <ul>
+ *   <li>{@code idCategory}: {@code eq}, {@code in} (values separated by {@code |})</li>
+ *   <li>{@code price}, {@code totalQuantity}: {@code eq}, {@code gt}, {@code gte}, {@code lt}, {@code lte}</li>
+ *   <li>{@code name}: {@code eq}, {@code prefix}, {@code contains} (case-insensitive, at least 3 characters
+ *       for prefix and contains)</li>
+ * </ul>
+ * Sort: comma-separated keys among {@code idProduct}, {@code name}, {@code price} and {@code totalQuantity},
+ * descending when prefixed with {@code -}, e.g. {@code price,-name}. Names sort case-insensitively. Ties are
+ * always broken by ID so pages are stable.
+ * <p>
+ * Each filter clause can use an index on its own column, and an unfiltered sort on any key can read its index
+ * in order (upper(name) for name). Not everything is index-backed: a filter combined with a sort on another
+ * column sorts every match before returning the first page, which is only cheap when the filter is selective.
+ */
+public final class ProductQueryParser {
+
+    public static final int MIN_NAME_FRAGMENT_LENGTH = 3;
+
+    private static final int MAX_FILTER_CLAUSES = 10;
+
+    private static final int MAX_IN_VALUES = 100;
+
+    private static final int MAX_SORT_KEYS = 3;
+
+    private static final Set<String> SORT_KEYS = Set.of("idProduct", "name", "price", "totalQuantity");
+
+    private static final String ID_KEY = "idProduct";
+
+    private static final String NAME_KEY = "name";
+
+    private ProductQueryParser() {
+    }
+
+    /**
+     * Translates a filter parameter into a specification.
+     *
+     * @param  filter  the filter parameter, or null for no filter
+     * @return         the specification matching every clause
+     * @throws ApiException  if the filter is malformed or uses a field or operator that is not allowed
+     */
+    public static Specification<Product> parseFilter(String filter) {
+        Specification<Product> specification = Specification.where(null);
+        if (filter == null || filter.isBlank()) {
+            return specification;
+        }
+        List<String[]> clauses = splitClauses(filter);
+        if (clauses.size() > MAX_FILTER_CLAUSES) {
+            throw invalid("At most " + MAX_FILTER_CLAUSES + " filter clauses are allowed");
+        }
+        for (String[] clause : clauses) {
+            specification = specification.and(toSpecification(clause[0], clause[1], clause[2]));
+        }
+        return specification;
+    }
+
+    /**
+     * Translates a sort parameter into a sort order, with the product ID as last key.
+     *
+     * @param  sort  the sort parameter, or null to sort by ID
+     * @return       the sort order
+     * @throws ApiException  if a key is not allowed
+     */
+    public static Sort parseSort(String sort) {
+        List<Sort.Order> orders = new ArrayList<>();
+        boolean hasId = false;
+        if (sort != null && !sort.isBlank()) {
+            String[] keys = sort.split(",");
+            if (keys.length > MAX_SORT_KEYS) {
+                throw invalid("At most " + MAX_SORT_KEYS + " sort keys are allowed");
+            }
+            for (String key : keys) {
+                key = key.trim();
+                boolean descending = key.startsWith("-");
+                String property = descending ? key.substring(1) : key;
+                if (!SORT_KEYS.contains(property)) {
+                    throw invalid("Unknown sort key '" + property + "'. Allowed: idProduct, name, price, totalQuantity");
+                }
+                Sort.Order order = descending ? Sort.Order.desc(property) : Sort.Order.asc(property);
+                // names are unique and searched case-insensitively; ordering them the same way reads uk_product_name_upper
+                orders.add(NAME_KEY.equals(property) ? order.ignoreCase() : order);
+                hasId |= ID_KEY.equals(property);
+            }
+        }
+        if (!hasId) {
+            orders.add(Sort.Order.asc(ID_KEY));
+        }
+        return Sort.by(orders);
+    }
+
+    /**
+     * Splits a filter into field, operator and unescaped value triples. Only unescaped commas end a clause,
+     * and the first two colons of a clause end the field and the operator.
+     */
+    private static List<String[]> splitClauses(String filter) {
+        List<String[]> clauses = new ArrayList<>();
+        List<String> parts = new ArrayList<>(3);
+        StringBuilder part = new StringBuilder();
+        int start = 0;
+        for (int i = 0; i <= filter.length(); i++) {
+            char c = i < filter.length() ? filter.charAt(i) : ',';
+            if (c == '\\') {
+                if (++i == filter.length()) {
+                    throw invalid("The filter ends with an unfinished escape");
+                }
+                part.append(filter.charAt(i));
+            } else if (c == ':' && parts.size() < 2) {
+                parts.add(part.toString().trim());
+                part.setLength(0);
+            } else if (c == ',') {
+                parts.add(part.toString().stripTrailing());
+                if (parts.size() != 3 || parts.get(2).isEmpty()) {
+                    throw invalid("Filter clauses must look like field:operator:value, got '" + filter.substring(start, i) + "'");
+                }
+                clauses.add(parts.toArray(new String[0]));
+                parts.clear();
+                part.setLength(0);
+                start = i + 1;
+            } else {
+                part.append(c);
+            }
+        }
+        return clauses;
+    }
+
+    private static Specification<Product> toSpecification(String field, String operator, String value) {
+        switch (field) {
+            case "idCategory":
+                if ("eq".equals(operator)) {
+                    return ProductSpecifications.categoryIn(List.of(parseLong(field, value)));
+                }
+                if ("in".equals(operator)) {
+                    String[] values = value.split("\\|");
+                    if (values.length > MAX_IN_VALUES) {
+                        throw invalid("At most " + MAX_IN_VALUES + " values are allowed in an 'in' clause");
+                    }
+                    List<Long> ids = new ArrayList<>(values.length);
+                    for (String id : values) {
+                        ids.add(parseLong(field, id));
+                    }
+                    return ProductSpecifications.categoryIn(ids);
+                }
+                throw unsupportedOperator(field, operator, "eq, in");
+            case "price":
+                return ProductSpecifications.compare("price", parseComparison(field, operator), parseDouble(field, value));
+            case "totalQuantity":
+                return ProductSpecifications.compare("totalQuantity", parseComparison(field, operator), parseInt(field, value));
+            case "name":
+                if ("eq".equals(operator)) {
+                    return ProductSpecifications.nameEqualsIgnoreCase(value);
+                }
+                if (!"prefix".equals(operator) && !"contains".equals(operator)) {
+                    throw unsupportedOperator(field, operator, "eq, prefix, contains");
+                }
+                if (value.length() < MIN_NAME_FRAGMENT_LENGTH) {
+                    throw invalid("name:" + operator + " needs at least " + MIN_NAME_FRAGMENT_LENGTH + " characters");
+                }
+                return "prefix".equals(operator)
+                        ? ProductSpecifications.nameStartsWithIgnoreCase(value)
+                        : ProductSpecifications.nameContainsIgnoreCase(value);
+            default:
+                throw invalid("Unknown filter field '" + field + "'. Allowed: idCategory, price, totalQuantity, name");
+        }
+    }
+
+    private static Operator parseComparison(String field, String operator) {
+        return switch (operator) {
+            case "eq" -> Operator.EQ;
+            case "gt" -> Operator.GT;
+            case "gte" -> Operator.GTE;
+            case "lt" -> Operator.LT;
+            case "lte" -> Operator.LTE;
+            default -> throw unsupportedOperator(field, operator, "eq, gt, gte, lt, lte");
+        };
+    }
+
+    private static long parseLong(String field, String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw invalid("Invalid " + field + " value '" + value + "'");
+        }
+    }
+
+    private static int parseInt(String field, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw invalid("Invalid " + field + " value '" + value + "'");
+        }
+    }
+
+    private static double parseDouble(String field, String value) {
+        try {
+            double number = Double.parseDouble(value);
+            if (Double.isFinite(number)) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw invalid("Invalid " + field + " value '" + value + "'");
+    }
+
+    private static ApiException unsupportedOperator(String field, String operator, String allowed) {
+        return invalid("Unsupported operator '" + operator + "' for " + field + ". Allowed: " + allowed);
+    }
+
+    private static ApiException invalid(String message) {
+        return new ApiException(ErrorCode.INVALID_QUERY, message);
+    }
+}
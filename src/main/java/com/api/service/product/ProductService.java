@@ -1,13 +1,45 @@
 package com.api.service.product;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import com.api.model.product.Category;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import com.api.cache.CacheInvalidationBus;
+import com.api.cache.VersionedCache;
+import com.api.model.event.AggregateType;
+import com.api.model.event.ChangeType;
+import com.api.dto.event.ChangeEventDTO;
+import com.api.dto.product.ProductBatchDTO;
+import com.api.dto.product.ProductBatchPatchDTO;
+import com.api.dto.product.ProductBatchPatchResultDTO;
+import com.api.dto.product.ProductChangesDTO;
 import com.api.dto.product.ProductDTO;
+import com.api.dto.product.ProductSliceDTO;
+import com.api.exception.ApiException;
+import com.api.exception.ErrorCode;
 import com.api.model.product.Product;
+import com.api.repository.product.CategoryRepository;
 import com.api.repository.product.ProductRepository;
+import com.api.service.event.ChangeEventService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 @Service
 public class ProductService {
@@ -15,6 +47,39 @@ public class ProductService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ChangeEventService changeEventService;
+
+    @Autowired
+    private CategoryStatsService categoryStatsService;
+
+    @Autowired
+    private VersionedCache<ProductDTO> productCache;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${api.products.multi-get-chunk-size:1000}")
+    private int multiGetChunkSize;
+
+    @Value("${api.categories.delete-chunk-size:1000}")
+    private int categoryDeleteChunkSize;
+
+    @Value("${api.products.search.max-page-size:500}")
+    private int searchMaxPageSize;
+
+    @Value("${api.products.search.max-offset:10000}")
+    private int searchMaxOffset;
+
     /**
      * Retrieves all products from the product repository and maps each product to a ProductDTO object.
      *
@@ -28,15 +93,166 @@ public class ProductService {
 
     
     /**
-     * Retrieves a ProductDTO object by its ID from the product repository.
+     * Retrieves a ProductDTO object by its ID, from the product cache when present.
      *
      * @param  id  the ID of the product to retrieve
-     * @return     the ProductDTO object corresponding to the given ID, or null if not found
+     * @return     the ProductDTO object corresponding to the given ID, or empty if not found
      */
-    public ProductDTO findProductById(Long id) {
+    public Optional<ProductDTO> findProductById(Long id) {
+        ProductDTO cached = productCache.get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
         return productRepository.findById(id)
+                .map(product -> {
+                    ProductDTO productDTO = convertProductToDTO(product);
+                    productCache.put(id, productDTO, product.getVersion());
+                    return productDTO;
+                });
+    }
+
+    /**
+     * Retrieves one page of the products matching a filter, in the requested order. The query is built
+     * from whitelisted fields and sort keys only (see {@link ProductQueryParser}) and pages without counting
+     * the matches; deep offsets are refused since they scan every skipped row.
+     *
+     * @param  filter  the filter parameter, or null to match every product
+     * @param  sort    the sort parameter, or null to sort by ID
+     * @param  page    the zero-based page number
+     * @param  size    the page size
+     * @return         the products of the page and whether a next page exists
+     * @throws ApiException  if a parameter is malformed or out of bounds
+     */
+    @Transactional(readOnly = true)
+    public ProductSliceDTO searchProducts(String filter, String sort, int page, int size) {
+        if (page < 0 || size < 1 || size > searchMaxPageSize) {
+            throw new ApiException(ErrorCode.INVALID_QUERY, "page must be at least 0 and size between 1 and " + searchMaxPageSize);
+        }
+        if ((long) page * size > searchMaxOffset) {
+            throw new ApiException(ErrorCode.INVALID_QUERY, "Pages beyond the first " + searchMaxOffset + " products are not available. Narrow the filter instead.");
+        }
+        Slice<Product> slice = productRepository.findSlice(ProductQueryParser.parseFilter(filter),
+                PageRequest.of(page, size, ProductQueryParser.parseSort(sort)));
+        List<ProductDTO> products = slice.getContent().stream()
+                .map(this::convertProductToDTO)
+                .collect(Collectors.toList());
+        return new ProductSliceDTO(products, page, size, slice.hasNext());
+    }
+
+    /**
+     * Retrieves many products at once. Cached products are served from the cache and the rest are loaded
+     * with one IN query per chunk of IDs.
+     *
+     * @param  ids  the IDs of the products to retrieve; duplicates are ignored
+     * @return      the products found, in request order, and the IDs that do not exist
+     */
+    @Transactional(readOnly = true)
+    public ProductBatchDTO findProductsByIds(List<Long> ids) {
+        LinkedHashSet<Long> requested = new LinkedHashSet<>(ids);
+        Map<Long, ProductDTO> found = new HashMap<>();
+        List<Long> toLoad = new ArrayList<>();
+        for (Long id : requested) {
+            ProductDTO cached = productCache.get(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                toLoad.add(id);
+            }
+        }
+        for (int from = 0; from < toLoad.size(); from += multiGetChunkSize) {
+            List<Long> chunk = toLoad.subList(from, Math.min(from + multiGetChunkSize, toLoad.size()));
+            for (Product product : productRepository.findAllById(chunk)) {
+                ProductDTO productDTO = convertProductToDTO(product);
+                productCache.put(productDTO.getIdProduct(), productDTO, product.getVersion());
+                found.put(productDTO.getIdProduct(), productDTO);
+            }
+        }
+        List<ProductDTO> products = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            ProductDTO productDTO = found.get(id);
+            if (productDTO != null) {
+                products.add(productDTO);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new ProductBatchDTO(products, missing);
+    }
+
+    /**
+     * Retrieves one page of changes for a client keeping a copy of the products. Without a token this is a
+     * full sync that pages through every product; with the token of the previous page it returns the products
+     * changed and deleted since. Tokens are outbox offsets, which are assigned in commit order, so a change is
+     * never missed however long its transaction took to commit. The same product may be returned more than
+     * once, so clients should treat changes as upserts.
+     *
+     * @param  token  the token returned by the previous call, or null to start a full sync
+     * @param  limit  the maximum number of products (full sync) or change events (delta) to read
+     * @return        the changed products, the deleted IDs, the token to send next and whether more changes are waiting
+     * @throws ApiException  if the token is malformed
+     */
+    @Transactional(readOnly = true)
+    public ProductChangesDTO findProductChanges(String token, int limit) {
+        if (token == null) {
+            // Read the offset before the products: anything committed after it is sent again by the next delta
+            return findAllProductsAfter(changeEventService.findLatestOffset(), 0L, limit);
+        }
+        int separator = token.indexOf(':');
+        try {
+            if (separator >= 0) {
+                return findAllProductsAfter(Long.parseLong(token.substring(0, separator)), Long.parseLong(token.substring(separator + 1)), limit);
+            }
+            return findProductChangesAfter(Long.parseLong(token), limit);
+        } catch (NumberFormatException e) {
+            throw new ApiException(ErrorCode.INVALID_SYNC_TOKEN);
+        }
+    }
+
+    /**
+     * Returns one page of a full sync. Pages are keyed on the product ID; the token carries the outbox
+     * offset read when the sync started, from which the client continues with deltas once it is done.
+     */
+    private ProductChangesDTO findAllProductsAfter(long offset, long idProduct, int limit) {
+        List<Product> products = productRepository.findByIdProductGreaterThanOrderByIdProductAsc(idProduct, PageRequest.of(0, limit));
+        List<ProductDTO> changed = products.stream()
                 .map(this::convertProductToDTO)
-                .orElse(null);
+                .collect(Collectors.toList());
+        if (products.size() < limit) {
+            return new ProductChangesDTO(changed, Collections.emptyList(), String.valueOf(offset), false);
+        }
+        return new ProductChangesDTO(changed, Collections.emptyList(), offset + ":" + products.get(products.size() - 1).getIdProduct(), true);
+    }
+
+    /**
+     * Returns the products touched by the change events after the offset, in their current state.
+     * Products that no longer exist are reported as deleted.
+     */
+    private ProductChangesDTO findProductChangesAfter(long offset, int limit) {
+        List<ChangeEventDTO> events = changeEventService.findEventsAfter(AggregateType.PRODUCT, offset, limit);
+        if (events.isEmpty()) {
+            return new ProductChangesDTO(Collections.emptyList(), Collections.emptyList(), String.valueOf(offset), false);
+        }
+        LinkedHashSet<Long> ids = new LinkedHashSet<>();
+        for (ChangeEventDTO event : events) {
+            ids.add(event.getAggregateId());
+        }
+        Map<Long, Product> current = new HashMap<>();
+        for (Product product : productRepository.findAllById(ids)) {
+            current.put(product.getIdProduct(), product);
+        }
+        List<ProductDTO> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        for (Long id : ids) {
+            Product product = current.get(id);
+            if (product != null) {
+                changed.add(convertProductToDTO(product));
+            } else {
+                deleted.add(id);
+            }
+        }
+        long lastOffset = events.get(events.size() - 1).getOffset();
+        return new ProductChangesDTO(changed, deleted, String.valueOf(lastOffset), events.size() == limit);
     }
 
     /**
@@ -44,10 +260,26 @@ public class ProductService {
      *
      * @param  productDTO  the product to save
      * @return             the saved product as a ProductDTO
+     * @throws ApiException  if the category does not exist or the name is already taken
      */
+    @Transactional
     public ProductDTO saveProduct(ProductDTO productDTO) {
+        if (!categoryRepository.existsById(productDTO.getIdCategory())) {
+            throw new ApiException(ErrorCode.PRODUCT_CATEGORY_NOT_FOUND);
+        }
+        if (productRepository.existsProductByNameIgnoreCase(productDTO.getName())) {
+            throw new ApiException(ErrorCode.PRODUCT_NAME_CONFLICT);
+        }
         Product product = convertProductToEntity(productDTO);
-        return convertProductToDTO(productRepository.save(product));
+        Instant now = Instant.now();
+        product.setCreatedAt(now);
+        product.setUpdatedAt(now);
+        ProductDTO savedProduct = convertProductToDTO(productRepository.save(product));
+        CategoryStatsService.Changes statsChanges = categoryStatsService.changes();
+        statsChanges.add(savedProduct.getIdCategory(), savedProduct.getPrice(), savedProduct.getTotalQuantity());
+        categoryStatsService.apply(statsChanges);
+        changeEventService.record(AggregateType.PRODUCT, savedProduct.getIdProduct(), ChangeType.CREATED, savedProduct);
+        return savedProduct;
     }
 
     /**
@@ -55,15 +287,22 @@ public class ProductService {
      *
      * @param  id          the ID of the product to update
      * @param  productDTO  the updated product details
-     * @return             the updated product as a ProductDTO, or throws an exception if the product is not found
+     * @return             the updated product as a ProductDTO
+     * @throws ApiException  if the product or the new category does not exist, or the new name is already taken
      */
+    @Transactional
     public ProductDTO updateProduct(Long id, ProductDTO productDTO) {
         Product product = productRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Product not found"));
+                .orElseThrow(() -> new ApiException(ErrorCode.PRODUCT_NOT_FOUND));
+        CategoryStatsService.Changes statsChanges = categoryStatsService.changes();
+        statsChanges.remove(categoryIdOf(product), product.getPrice(), product.getTotalQuantity());
     
         boolean updated = false;
     
         if (productDTO.getName() != null && !productDTO.getName().equals(product.getName())) {
+            if (existsProductByNameExcludingId(productDTO.getName(), id)) {
+                throw new ApiException(ErrorCode.PRODUCT_NAME_CONFLICT);
+            }
             product.setName(productDTO.getName());
             updated = true;
         }
@@ -81,30 +320,190 @@ public class ProductService {
         }
         if (productDTO.getIdCategory() != null && (product.getCategory() == null
                 || !productDTO.getIdCategory().equals(product.getCategory().getIdCategory()))) {
-            Category category = new Category();
-            category.setIdCategory(productDTO.getIdCategory());
-            product.setCategory(category);
+            if (!categoryRepository.existsById(productDTO.getIdCategory())) {
+                throw new ApiException(ErrorCode.PRODUCT_CATEGORY_NOT_FOUND);
+            }
+            product.setCategory(categoryRepository.getReferenceById(productDTO.getIdCategory()));
             updated = true;
         }
     
         if (updated) {
-            return convertProductToDTO(productRepository.save(product));
+            product.setUpdatedAt(Instant.now());
+            // Flushed right away so the new version is known for the cache invalidation
+            ProductDTO updatedProduct = convertProductToDTO(productRepository.saveAndFlush(product));
+            statsChanges.add(categoryIdOf(product), product.getPrice(), product.getTotalQuantity());
+            categoryStatsService.apply(statsChanges);
+            changeEventService.record(AggregateType.PRODUCT, id, ChangeType.UPDATED, updatedProduct);
+            cacheInvalidationBus.invalidateAfterCommit(AggregateType.PRODUCT, id, product.getVersion());
+            return updatedProduct;
         } else {
             return convertProductToDTO(product);
         }
     }
 
+    /**
+     * Applies price and quantity changes to many products in one transaction. Products are loaded one chunk
+     * at a time and the resulting UPDATEs and change events are sent as JDBC batches; the persistence context
+     * is cleared after each chunk so memory stays flat for very large batches. When a product appears more
+     * than once, the last entry wins. The category aggregates are adjusted once, after all chunks.
+     *
+     * @param  patches  the changes to apply
+     * @return          the number of products actually modified and the IDs that do not exist
+     */
+    @Transactional
+    public ProductBatchPatchResultDTO patchProducts(List<ProductBatchPatchDTO> patches) {
+        Map<Long, ProductBatchPatchDTO> patchesById = new LinkedHashMap<>();
+        for (ProductBatchPatchDTO patch : patches) {
+            patchesById.put(patch.getIdProduct(), patch);
+        }
+        List<Long> ids = new ArrayList<>(patchesById.keySet());
+        List<Long> missing = new ArrayList<>();
+        int updatedCount = 0;
+        CategoryStatsService.Changes statsChanges = categoryStatsService.changes();
+        for (int from = 0; from < ids.size(); from += multiGetChunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + multiGetChunkSize, ids.size()));
+            Map<Long, Product> products = new HashMap<>();
+            for (Product product : productRepository.findAllById(chunk)) {
+                products.put(product.getIdProduct(), product);
+            }
+            Instant now = Instant.now();
+            Map<Long, ProductDTO> updatedProducts = new LinkedHashMap<>();
+            List<Product> updatedEntities = new ArrayList<>();
+            for (Long id : chunk) {
+                Product product = products.get(id);
+                if (product == null) {
+                    missing.add(id);
+                    continue;
+                }
+                ProductBatchPatchDTO patch = patchesById.get(id);
+                Double oldPrice = product.getPrice();
+                Integer oldTotalQuantity = product.getTotalQuantity();
+                boolean updated = false;
+                if (patch.getPrice() != null && !patch.getPrice().equals(product.getPrice())) {
+                    product.setPrice(patch.getPrice());
+                    updated = true;
+                }
+                if (patch.getTotalQuantity() != null && !patch.getTotalQuantity().equals(product.getTotalQuantity())) {
+                    product.setTotalQuantity(patch.getTotalQuantity());
+                    updated = true;
+                }
+                if (updated) {
+                    statsChanges.remove(categoryIdOf(product), oldPrice, oldTotalQuantity);
+                    statsChanges.add(categoryIdOf(product), product.getPrice(), product.getTotalQuantity());
+                    product.setUpdatedAt(now);
+                    updatedProducts.put(id, convertProductToDTO(product));
+                    updatedEntities.add(product);
+                }
+            }
+            if (!updatedProducts.isEmpty()) {
+                changeEventService.recordAll(AggregateType.PRODUCT, ChangeType.UPDATED, updatedProducts);
+            }
+            updatedCount += updatedProducts.size();
+            entityManager.flush();
+            for (Product product : updatedEntities) {
+                cacheInvalidationBus.invalidateAfterCommit(AggregateType.PRODUCT, product.getIdProduct(), product.getVersion());
+            }
+            entityManager.clear();
+        }
+        categoryStatsService.apply(statsChanges);
+        return new ProductBatchPatchResultDTO(updatedCount, missing);
+    }
+
     /**
      * Deletes a product from the repository based on the provided product ID.
      *
      * @param  id  the ID of the product to delete
+     * @throws ApiException  if the product does not exist
      */
+    @Transactional
     public void deleteProduct(Long id) {
-        if (productRepository.existsById(id)) {
-            productRepository.deleteById(id);
-        } else {
-            throw new RuntimeException("Product not found");
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ApiException(ErrorCode.PRODUCT_NOT_FOUND));
+        productRepository.delete(product);
+        CategoryStatsService.Changes statsChanges = categoryStatsService.changes();
+        statsChanges.remove(categoryIdOf(product), product.getPrice(), product.getTotalQuantity());
+        categoryStatsService.apply(statsChanges);
+        changeEventService.record(AggregateType.PRODUCT, id, ChangeType.DELETED, null);
+        cacheInvalidationBus.invalidateAfterCommit(AggregateType.PRODUCT, id, product.getVersion() + 1);
+    }
+
+    /**
+     * Moves every product of a category to another one with set-based UPDATEs of at most
+     * api.categories.delete-chunk-size rows each, so no single statement runs long and the change
+     * events, aggregates and cache invalidations are built from the RETURNING rows without loading
+     * entities. Must be called inside the transaction that deletes the source category, with both
+     * categories locked; the moved rows stay locked until that transaction commits.
+     *
+     * @param  idCategory        the category to empty
+     * @param  targetIdCategory  the category receiving the products
+     * @return                   the number of products moved
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int reassignProductsOfCategory(Long idCategory, Long targetIdCategory) {
+        String sql = "WITH batch AS (SELECT id_product FROM product WHERE category_id = ? ORDER BY id_product LIMIT ? FOR UPDATE) "
+                + "UPDATE product p SET category_id = ?, updated_at = ?, version = p.version + 1 FROM batch "
+                + "WHERE p.id_product = batch.id_product "
+                + "RETURNING p.id_product, p.name, p.description, p.total_quantity, p.price, p.version";
+        CategoryStatsService.Changes statsChanges = categoryStatsService.changes();
+        int moved = 0;
+        while (true) {
+            Map<Long, ProductDTO> movedProducts = new LinkedHashMap<>();
+            Map<Long, Long> versions = new HashMap<>();
+            jdbcTemplate.query(sql, rs -> {
+                ProductDTO productDTO = new ProductDTO();
+                productDTO.setIdProduct(rs.getLong("id_product"));
+                productDTO.setName(rs.getString("name"));
+                productDTO.setDescription(rs.getString("description"));
+                productDTO.setTotalQuantity(rs.getInt("total_quantity"));
+                productDTO.setPrice(rs.getDouble("price"));
+                productDTO.setIdCategory(targetIdCategory);
+                movedProducts.put(productDTO.getIdProduct(), productDTO);
+                versions.put(productDTO.getIdProduct(), rs.getLong("version"));
+            }, idCategory, categoryDeleteChunkSize, targetIdCategory, OffsetDateTime.now(ZoneOffset.UTC));
+            if (movedProducts.isEmpty()) {
+                break;
+            }
+            for (ProductDTO productDTO : movedProducts.values()) {
+                statsChanges.remove(idCategory, productDTO.getPrice(), productDTO.getTotalQuantity());
+                statsChanges.add(targetIdCategory, productDTO.getPrice(), productDTO.getTotalQuantity());
+                cacheInvalidationBus.invalidateAfterCommit(AggregateType.PRODUCT, productDTO.getIdProduct(), versions.get(productDTO.getIdProduct()));
+            }
+            changeEventService.recordAll(AggregateType.PRODUCT, ChangeType.UPDATED, movedProducts);
+            moved += movedProducts.size();
         }
+        categoryStatsService.apply(statsChanges);
+        return moved;
+    }
+
+    /**
+     * Deletes every product of a category with set-based DELETEs of at most
+     * api.categories.delete-chunk-size rows each. Must be called inside the transaction that deletes
+     * the category, which holds the deleted rows locked until it commits; the category aggregates go
+     * away with it, so they are not adjusted.
+     *
+     * @param  idCategory  the category to empty
+     * @return             the number of products deleted
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int deleteProductsOfCategory(Long idCategory) {
+        String sql = "WITH batch AS (SELECT id_product FROM product WHERE category_id = ? ORDER BY id_product LIMIT ? FOR UPDATE) "
+                + "DELETE FROM product p USING batch WHERE p.id_product = batch.id_product "
+                + "RETURNING p.id_product, p.version";
+        int deleted = 0;
+        while (true) {
+            Map<Long, Object> deletedProducts = new LinkedHashMap<>();
+            jdbcTemplate.query(sql, rs -> {
+                long id = rs.getLong("id_product");
+                deletedProducts.put(id, null);
+                cacheInvalidationBus.invalidateAfterCommit(AggregateType.PRODUCT, id, rs.getLong("version") + 1);
+            }, idCategory, categoryDeleteChunkSize);
+            if (deletedProducts.isEmpty()) {
+                break;
+            }
+            changeEventService.recordAll(AggregateType.PRODUCT, ChangeType.DELETED, deletedProducts);
+            deleted += deletedProducts.size();
+        }
+        return deleted;
     }
 
     /**
@@ -124,7 +523,7 @@ public class ProductService {
      * @return     true if the product exists, false otherwise
      */
     public boolean existsProductByName(String name) {
-        return productRepository.existsProductByName(name);
+        return productRepository.existsProductByNameIgnoreCase(name);
     }
 
     /**
@@ -135,7 +534,17 @@ public class ProductService {
      * @return      true if a product with the given name exists and its ID is not the excluded ID, false otherwise
      */
     public boolean existsProductByNameExcludingId(String name, Long id) {
-        return productRepository.findByNameAndIdProductNot(name, id).isPresent();
+        return productRepository.existsByNameIgnoreCaseAndIdProductNot(name, id);
+    }
+
+    /**
+     * Returns the category ID of a product without initializing the lazy category proxy.
+     *
+     * @param  product  the product
+     * @return          the ID of its category, or null if it has none
+     */
+    private static Long categoryIdOf(Product product) {
+        return product.getCategory() != null ? product.getCategory().getIdCategory() : null;
     }
 
     /**
@@ -168,9 +577,8 @@ public class ProductService {
         product.setDescription(productDTO.getDescription());
         product.setTotalQuantity(productDTO.getTotalQuantity());
         product.setPrice(productDTO.getPrice());
-        Category category = new Category();
-        category.setIdCategory(productDTO.getIdCategory());
-        product.setCategory(category);
+        // A reference rather than a new instance: a detached Category without its version cannot be attached
+        product.setCategory(categoryRepository.getReferenceById(productDTO.getIdCategory()));
         return product;
     }
 }
@@ -0,0 +1,81 @@
+package com.api.validation;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.api.dto.product.CategoryDTO;
+import com.api.dto.product.ProductBatchPatchDTO;
+import com.api.dto.product.ProductDTO;
+import com.api.dto.product.ProductIdsDTO;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Programmatic entry point to the fail-fast validator used by the controllers, for code paths
+ * that do not go through {@code @Validated} request bodies (batches, patches).
+ */
+@Component
+public class DtoValidator {
+
+    private static final Class<?>[] VALIDATED_TYPES = { ProductDTO.class, CategoryDTO.class, ProductBatchPatchDTO.class, ProductIdsDTO.class };
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${api.validation.parallel-threshold:1000}")
+    private int parallelThreshold;
+
+    /**
+     * Builds the constraint metadata of every DTO up front, so the first request does not pay for the reflection.
+     */
+    @PostConstruct
+    public void precomputeConstraintMetadata() {
+        for (Class<?> type : VALIDATED_TYPES) {
+            validator.getConstraintsForClass(type);
+        }
+    }
+
+    /**
+     * Validates an object against the given group and stops at the first violation.
+     *
+     * @param  object  the object to validate
+     * @param  group   the validation group to apply
+     * @return         the message of the first violation, or empty if the object is valid
+     */
+    public Optional<String> firstViolation(Object object, Class<?> group) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(object, group);
+        if (violations.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(violations.iterator().next().getMessage());
+    }
+
+    /**
+     * Validates the elements of a collection against the given group and stops at the first invalid one
+     * in index order, in parallel once the collection is larger than the configured threshold. The
+     * parallel stream still reports the lowest failing index and cancels the elements after it.
+     *
+     * @param  objects  the objects to validate
+     * @param  group    the validation group to apply
+     * @return          the first violation of the first invalid element, or empty if every element is valid
+     */
+    public Optional<ValidationFailure> firstFailure(List<?> objects, Class<?> group) {
+        IntStream indexes = IntStream.range(0, objects.size());
+        if (objects.size() >= parallelThreshold) {
+            indexes = indexes.parallel();
+        }
+        return indexes
+                .mapToObj(i -> firstViolation(objects.get(i), group)
+                        .map(message -> new ValidationFailure(i, message)))
+                .flatMap(Optional::stream)
+                .findFirst();
+    }
+}
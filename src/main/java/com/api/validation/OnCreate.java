@@ -0,0 +1,8 @@
+package com.api.validation;
+
+/**
+ * Validation group for requests that create or fully replace a resource:
+ * every required field must be present.
+ */
+public interface OnCreate {
+}
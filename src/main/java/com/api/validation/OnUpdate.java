@@ -0,0 +1,8 @@
+package com.api.validation;
+
+/**
+ * Validation group for partial updates: absent (null) fields are left untouched,
+ * supplied fields must satisfy the same rules as on creation.
+ */
+public interface OnUpdate {
+}
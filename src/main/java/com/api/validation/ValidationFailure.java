@@ -0,0 +1,24 @@
+package com.api.validation;
+
+/**
+ * First constraint violation found for one element of a batch.
+ */
+public class ValidationFailure {
+
+    private final int index;
+
+    private final String message;
+
+    public ValidationFailure(int index, String message) {
+        this.index = index;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
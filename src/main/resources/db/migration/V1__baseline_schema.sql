@@ -0,0 +1,50 @@
+-- Baseline schema. Written to be re-runnable over a database previously created by
+-- spring.jpa.hibernate.ddl-auto=update, so existing installations can adopt Flyway as-is.
+
+CREATE TABLE IF NOT EXISTS category (
+    id_category BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(50),
+    description TEXT,
+    created_at  TIMESTAMP(6) WITH TIME ZONE,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE TABLE IF NOT EXISTS product (
+    id_product     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name           VARCHAR(50) NOT NULL,
+    description    TEXT,
+    total_quantity INTEGER NOT NULL,
+    price          DOUBLE PRECISION NOT NULL,
+    category_id    BIGINT,
+    created_at     TIMESTAMP(6) WITH TIME ZONE,
+    updated_at     TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT fk_product_category FOREIGN KEY (category_id) REFERENCES category (id_category)
+);
+
+CREATE TABLE IF NOT EXISTS change_event (
+    id_event       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    aggregate_type VARCHAR(20) NOT NULL,
+    aggregate_id   BIGINT NOT NULL,
+    change_type    VARCHAR(20) NOT NULL,
+    payload        TEXT,
+    created_at     TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+-- Columns added after the first Hibernate-managed release
+ALTER TABLE category ADD COLUMN IF NOT EXISTS created_at TIMESTAMP(6) WITH TIME ZONE;
+ALTER TABLE category ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) WITH TIME ZONE;
+ALTER TABLE product ADD COLUMN IF NOT EXISTS created_at TIMESTAMP(6) WITH TIME ZONE;
+ALTER TABLE product ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) WITH TIME ZONE;
+
+-- Foreign key lookups (products of a category, category deletion)
+CREATE INDEX IF NOT EXISTS idx_product_category_id ON product (category_id);
+
+-- Names are unique regardless of case, as the services check with existsByNameIgnoreCase; the unique
+-- indexes enforce it for concurrent requests too and serve those lookups, which compare upper(name).
+-- Fails if existing names already differ only by case; rename those rows before migrating.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_product_name_upper ON product (upper(name));
+CREATE UNIQUE INDEX IF NOT EXISTS uk_category_name_upper ON category (upper(name));
+
+-- Price and stock filtering
+CREATE INDEX IF NOT EXISTS idx_product_price ON product (price);
+CREATE INDEX IF NOT EXISTS idx_product_total_quantity ON product (total_quantity);
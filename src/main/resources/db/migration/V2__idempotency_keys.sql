@@ -0,0 +1,17 @@
+-- Shared idempotency store (api.idempotency.store=jdbc). The key is a SHA-256 of the client and the
+-- Idempotency-Key header; rows without a response_status belong to requests still in flight.
+-- In-flight rows hold a short lease renewed by the executing node. A claim may take over a row whose
+-- lease ran out, so a node that dies mid-request blocks the key for the lease, not for the whole TTL.
+
+CREATE TABLE IF NOT EXISTS idempotency_key (
+    idempotency_key  VARCHAR(64) PRIMARY KEY,
+    fingerprint      VARCHAR(64) NOT NULL,
+    response_status  INTEGER,
+    content_type     VARCHAR(255),
+    body             BYTEA,
+    created_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    lease_expires_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_key_expires_at ON idempotency_key (expires_at);
@@ -0,0 +1,24 @@
+-- Per-category inventory aggregates, kept up to date by the product write paths and
+-- periodically reconciled against a GROUP BY over product (CategoryStatsService).
+
+CREATE TABLE IF NOT EXISTS category_stats (
+    category_id     BIGINT PRIMARY KEY,
+    product_count   BIGINT NOT NULL DEFAULT 0,
+    stock_value     DOUBLE PRECISION NOT NULL DEFAULT 0,
+    low_stock_count BIGINT NOT NULL DEFAULT 0,
+    updated_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT fk_category_stats_category FOREIGN KEY (category_id) REFERENCES category (id_category) ON DELETE CASCADE
+);
+
+-- Initial load. Uses the default low-stock threshold (5); the first reconciliation run
+-- recomputes the counts if api.category-stats.low-stock-threshold is set differently.
+INSERT INTO category_stats (category_id, product_count, stock_value, low_stock_count, updated_at)
+SELECT c.id_category,
+       count(p.id_product),
+       coalesce(sum(p.price * p.total_quantity), 0),
+       count(p.id_product) FILTER (WHERE p.total_quantity <= 5),
+       now()
+FROM category c
+LEFT JOIN product p ON p.category_id = c.id_category
+GROUP BY c.id_category
+ON CONFLICT (category_id) DO NOTHING;
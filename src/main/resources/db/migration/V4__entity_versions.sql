@@ -0,0 +1,5 @@
+-- Optimistic locking versions, also carried by cache invalidations so nodes can tell stale
+-- cache entries and out-of-order invalidations apart.
+
+ALTER TABLE product ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE category ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
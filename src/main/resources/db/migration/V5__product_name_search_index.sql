@@ -0,0 +1,7 @@
+-- Name prefix and substring filters on the product listing (name:prefix, name:contains).
+-- A trigram index on upper(name) serves both LIKE 'ABC%' and LIKE '%ABC%', including with
+-- bound parameters, where a btree pattern index would only help literal prefixes.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_product_name_upper_trgm ON product USING gin (upper(name) gin_trgm_ops);
@@ -0,0 +1,37 @@
+package com.api;
+
+import java.util.UUID;
+
+import com.api.dto.product.CategoryDTO;
+import com.api.dto.product.ProductDTO;
+
+/**
+ * Builders for request DTOs. Names are made unique per call because the integration tests
+ * share one database and never clean it up.
+ */
+public final class TestData {
+
+    private TestData() {
+    }
+
+    public static String uniqueName(String prefix) {
+        return prefix + " " + UUID.randomUUID().toString().substring(0, 13);
+    }
+
+    public static CategoryDTO category() {
+        CategoryDTO categoryDTO = new CategoryDTO();
+        categoryDTO.setName(uniqueName("Category"));
+        categoryDTO.setDescription("Category created by a test");
+        return categoryDTO;
+    }
+
+    public static ProductDTO product(Long idCategory, double price, int totalQuantity) {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setName(uniqueName("Product"));
+        productDTO.setDescription("Product created by a test");
+        productDTO.setIdCategory(idCategory);
+        productDTO.setPrice(price);
+        productDTO.setTotalQuantity(totalQuantity);
+        return productDTO;
+    }
+}
@@ -0,0 +1,171 @@
+package com.api.benchmark;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import com.api.ApiValidationApplication;
+import com.api.dto.product.ProductDTO;
+import com.api.service.product.ProductService;
+
+/**
+ * Latency of one page of the product search on a seeded catalog of 200,000 products in 50 categories,
+ * per filter scenario, against the previous approach of loading every product and filtering in memory.
+ * Starts the application against a PostgreSQL container, or against the database given by the
+ * {@code benchmark.jdbc-url} system property (user {@code benchmark.jdbc-user}, password
+ * {@code benchmark.jdbc-password}) when set; the catalog is seeded into it unless it is already there.
+ * Run with {@code mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * -Dexec.args="-cp %classpath com.api.benchmark.ProductSearchBenchmark"}; JMH options such as
+ * {@code -p scenario=category} are passed through.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductSearchBenchmark {
+
+    private static final int PRODUCTS = 200_000;
+
+    private static final int CATEGORIES = 50;
+
+    private static final int PAGE_SIZE = 50;
+
+    private static final String[] JDBC_PROPERTIES = { "benchmark.jdbc-url", "benchmark.jdbc-user", "benchmark.jdbc-password" };
+
+    /**
+     * The filter scenario; findAllAndFilter is the category scenario as it was served before the search.
+     */
+    @Param({ "findAllAndFilter", "category", "categoryIn", "priceRange", "lowStock", "namePrefix", "nameContains", "sortedOnly" })
+    private String scenario;
+
+    private PostgreSQLContainer<?> postgres;
+
+    private ConfigurableApplicationContext context;
+
+    private ProductService productService;
+
+    private long firstCategory;
+
+    private String filter;
+
+    private String sort;
+
+    @Setup
+    public void setUp() {
+        String url = System.getProperty(JDBC_PROPERTIES[0]);
+        String user = System.getProperty(JDBC_PROPERTIES[1], "postgres");
+        String password = System.getProperty(JDBC_PROPERTIES[2], "");
+        if (url == null) {
+            postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+            postgres.start();
+            url = postgres.getJdbcUrl();
+            user = postgres.getUsername();
+            password = postgres.getPassword();
+        }
+        context = new SpringApplicationBuilder(ApiValidationApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + url, "--spring.datasource.username=" + user,
+                        "--spring.datasource.password=" + password, "--spring.jpa.show-sql=false",
+                        "--api.cache.invalidation.transport=memory");
+        productService = context.getBean(ProductService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        if (jdbcTemplate.queryForObject("SELECT count(*) FROM category WHERE name = 'Category 1'", Integer.class) == 0) {
+            new TransactionTemplate(context.getBean(PlatformTransactionManager.class))
+                    .executeWithoutResult(status -> seed(jdbcTemplate));
+            jdbcTemplate.execute("ANALYZE product");
+            jdbcTemplate.execute("ANALYZE category");
+        }
+        firstCategory = jdbcTemplate.queryForObject("SELECT id_category FROM category WHERE name = 'Category 1'", Long.class);
+
+        switch (scenario) {
+            case "findAllAndFilter" -> use(null, null);
+            case "category" -> use("idCategory:eq:" + (firstCategory + 7), "price");
+            case "categoryIn" -> use("idCategory:in:" + firstCategory + "|" + (firstCategory + 1), "-price");
+            case "priceRange" -> use("price:gte:100,price:lt:110", "-price");
+            case "lowStock" -> use("totalQuantity:lt:3", "totalQuantity");
+            case "namePrefix" -> use("name:prefix:Product 1999", "name");
+            case "nameContains" -> use("name:contains:99999", null);
+            case "sortedOnly" -> use(null, "-price");
+            default -> throw new IllegalArgumentException("Unknown scenario " + scenario);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Benchmark
+    public Object search() {
+        if ("findAllAndFilter".equals(scenario)) {
+            return findAllAndFilter();
+        }
+        return productService.searchProducts(filter, sort, 0, PAGE_SIZE);
+    }
+
+    private List<ProductDTO> findAllAndFilter() {
+        return productService.findAllProducts().stream()
+                .filter(product -> product.getIdCategory() == firstCategory + 7)
+                .sorted(Comparator.comparing(ProductDTO::getPrice))
+                .limit(PAGE_SIZE)
+                .collect(Collectors.toList());
+    }
+
+    private void use(String filter, String sort) {
+        this.filter = filter;
+        this.sort = sort;
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO category (name, description) SELECT 'Category ' || g, 'Seeded category' FROM generate_series(1, ?) g",
+                CATEGORIES);
+        jdbcTemplate.update("INSERT INTO product (name, description, total_quantity, price, category_id, created_at, updated_at) "
+                + "SELECT 'Product ' || g, 'Seeded product', (g * 7919) % 100, 1 + (g * 104729 % 100000) / 100.0, "
+                + "(SELECT id_category FROM category WHERE name = 'Category 1') + g % ?, now(), now() FROM generate_series(1::bigint, ?) g",
+                CATEGORIES, PRODUCTS);
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(ProductSearchBenchmark.class.getSimpleName());
+        for (String property : JDBC_PROPERTIES) {
+            if (System.getProperty(property) != null) {
+                options.jvmArgsAppend("-D" + property + "=" + System.getProperty(property));
+            }
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,148 @@
+package com.api.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.validator.BaseHibernateValidatorConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.api.dto.product.ProductDTO;
+import com.api.validation.DtoValidator;
+import com.api.validation.OnCreate;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+/**
+ * Per-object cost of validating a ProductDTO with the fail-fast validator versus the default one,
+ * and of DtoValidator batch validation in sequential and parallel mode.
+ * Run with {@code mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * -Dexec.args="-cp %classpath com.api.benchmark.ValidationBenchmark"}.
+ *
+ * <p>Results (JMH 1.37, JDK 17.0.9, one vCPU, average time, 5 x 1 s after 3 x 1 s warmup):
+ * <pre>
+ * validProductDefault       2,898 ns/op  (+-   759)
+ * validProductFailFast      2,849 ns/op  (+-   641)
+ * invalidProductDefault     3,421 ns/op  (+- 1,758)
+ * invalidProductFailFast    1,536 ns/op  (+-   188)
+ * batchSequential (10,000)  48.6 ms/op   (+-   9.7)
+ * batchParallel   (10,000)  166.6 ms/op  (+- 252.2)
+ * </pre>
+ * Fail-fast only pays off for invalid objects, where it skips the remaining constraints (about 2x here);
+ * valid objects evaluate every constraint either way. The batch rows validate 9,999 valid products and an
+ * invalid last one, the worst case for stopping at the first failure. The parallel batch has nothing to
+ * gain on a single core and only adds fork/join overhead; measure on the target host before lowering
+ * {@code api.validation.parallel-threshold}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private Validator failFastValidator;
+
+    private Validator defaultValidator;
+
+    private ProductDTO validProduct;
+
+    private ProductDTO invalidProduct;
+
+    @Param({ "10000" })
+    private int batchSize;
+
+    private List<ProductDTO> batch;
+
+    private DtoValidator sequentialDtoValidator;
+
+    private DtoValidator parallelDtoValidator;
+
+    @Setup
+    public void setUp() {
+        failFastValidator = Validation.byDefaultProvider().configure()
+                .addProperty(BaseHibernateValidatorConfiguration.FAIL_FAST, "true")
+                .buildValidatorFactory().getValidator();
+        defaultValidator = Validation.buildDefaultValidatorFactory().getValidator();
+        failFastValidator.getConstraintsForClass(ProductDTO.class);
+        defaultValidator.getConstraintsForClass(ProductDTO.class);
+
+        validProduct = product("Sony PlayStation 5", "Sony PlayStation 5 console. 825 GB.", 3, 399.99, 3L);
+        invalidProduct = product("PS", "short", -1, 0.0, null);
+
+        batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            // Only the last element is invalid, so fail-fast batch validation still has to check every element
+            batch.add(i == batchSize - 1 ? invalidProduct : validProduct);
+        }
+        sequentialDtoValidator = dtoValidator(Integer.MAX_VALUE);
+        parallelDtoValidator = dtoValidator(1);
+    }
+
+    @Benchmark
+    public Object validProductFailFast() {
+        return failFastValidator.validate(validProduct, OnCreate.class);
+    }
+
+    @Benchmark
+    public Object validProductDefault() {
+        return defaultValidator.validate(validProduct, OnCreate.class);
+    }
+
+    @Benchmark
+    public Object invalidProductFailFast() {
+        return failFastValidator.validate(invalidProduct, OnCreate.class);
+    }
+
+    @Benchmark
+    public Object invalidProductDefault() {
+        return defaultValidator.validate(invalidProduct, OnCreate.class);
+    }
+
+    @Benchmark
+    public Object batchSequential() {
+        return sequentialDtoValidator.firstFailure(batch, OnCreate.class);
+    }
+
+    @Benchmark
+    public Object batchParallel() {
+        return parallelDtoValidator.firstFailure(batch, OnCreate.class);
+    }
+
+    private DtoValidator dtoValidator(int parallelThreshold) {
+        DtoValidator dtoValidator = new DtoValidator();
+        ReflectionTestUtils.setField(dtoValidator, "validator", failFastValidator);
+        ReflectionTestUtils.setField(dtoValidator, "parallelThreshold", parallelThreshold);
+        return dtoValidator;
+    }
+
+    private static ProductDTO product(String name, String description, Integer quantity, Double price, Long idCategory) {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setName(name);
+        productDTO.setDescription(description);
+        productDTO.setTotalQuantity(quantity);
+        productDTO.setPrice(price);
+        productDTO.setIdCategory(idCategory);
+        return productDTO;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ValidationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
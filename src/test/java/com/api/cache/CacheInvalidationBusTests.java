@@ -0,0 +1,161 @@
+package com.api.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.model.event.AggregateType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Two buses on one {@link InMemoryInvalidationTransport} stand in for two nodes.
+ */
+class CacheInvalidationBusTests {
+
+    private static final Long ID = 1L;
+
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(new NoOpTransactionManager());
+
+    private Node writer;
+
+    private Node reader;
+
+    @BeforeEach
+    void createNodes() {
+        InMemoryInvalidationTransport transport = new InMemoryInvalidationTransport();
+        writer = new Node(transport);
+        reader = new Node(transport);
+    }
+
+    @Test
+    void committedWriteEvictsEveryNodeOnce() {
+        writer.cache.put(ID, "v1", 1);
+        reader.cache.put(ID, "v1", 1);
+
+        transactionTemplate.executeWithoutResult(status -> writer.bus.invalidateAfterCommit(AggregateType.PRODUCT, ID, 2));
+
+        assertThat(writer.cache.get(ID)).isNull();
+        assertThat(reader.cache.get(ID)).isNull();
+        assertThat(writer.count("applied")).isEqualTo(1);
+        assertThat(writer.count("out-of-order")).isZero();
+        assertThat(reader.count("applied")).isEqualTo(1);
+    }
+
+    @Test
+    void rolledBackWriteSendsNothing() {
+        reader.cache.put(ID, "v1", 1);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            writer.bus.invalidateAfterCommit(AggregateType.PRODUCT, ID, 2);
+            status.setRollbackOnly();
+        });
+
+        assertThat(reader.cache.get(ID)).isEqualTo("v1");
+        assertThat(reader.count("applied")).isZero();
+    }
+
+    @Test
+    void readRacingAWriteCannotCacheTheOldVersion() {
+        transactionTemplate.executeWithoutResult(status -> writer.bus.invalidateAfterCommit(AggregateType.PRODUCT, ID, 2));
+
+        // The reader loaded v1 before the write committed and puts it afterwards
+        reader.cache.put(ID, "v1", 1);
+
+        assertThat(reader.cache.get(ID)).isNull();
+    }
+
+    @Test
+    void reorderedInvalidationsAreCountedAndIgnored() {
+        reader.bus.onInvalidation(new CacheInvalidation(AggregateType.PRODUCT, ID, 3));
+        reader.cache.put(ID, "v3", 3);
+
+        reader.bus.onInvalidation(new CacheInvalidation(AggregateType.PRODUCT, ID, 2));
+
+        assertThat(reader.cache.get(ID)).isEqualTo("v3");
+        assertThat(reader.count("applied")).isEqualTo(1);
+        assertThat(reader.count("out-of-order")).isEqualTo(1);
+    }
+
+    @Test
+    void cachesStayDisabledUntilTheTransportConnects() {
+        Node node = new Node(mock(InvalidationTransport.class));
+
+        node.cache.put(ID, "v1", 1);
+        assertThat(node.cache.get(ID)).isNull();
+
+        node.bus.onConnected();
+        node.cache.put(ID, "v1", 1);
+        assertThat(node.cache.get(ID)).isEqualTo("v1");
+    }
+
+    @Test
+    void reconnectStartsFromAnEmptyCache() {
+        reader.cache.put(ID, "v1", 1);
+        reader.bus.onInvalidation(new CacheInvalidation(AggregateType.PRODUCT, 2L, 5));
+
+        reader.bus.onDisconnected();
+        assertThat(reader.cache.get(ID)).isNull();
+        reader.cache.put(3L, "v1", 1);
+
+        reader.bus.onConnected();
+        assertThat(reader.cache.size()).isZero();
+        assertThat(reader.cache.get(3L)).isNull();
+        // The invalidated versions were forgotten with the values
+        reader.cache.put(2L, "v4", 4);
+        assertThat(reader.cache.get(2L)).isEqualTo("v4");
+    }
+
+    private static final class Node {
+
+        private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        private final CacheInvalidationBus bus = new CacheInvalidationBus();
+
+        private final VersionedCache<String> cache = new VersionedCache<>(100);
+
+        private Node(InvalidationTransport transport) {
+            ReflectionTestUtils.setField(bus, "transport", transport);
+            ReflectionTestUtils.setField(bus, "meterRegistry", meterRegistry);
+            bus.subscribe();
+            bus.register(AggregateType.PRODUCT, cache);
+        }
+
+        private double count(String result) {
+            return meterRegistry.counter("api.cache.invalidations", "result", result).count();
+        }
+    }
+
+    /**
+     * Drives the transaction synchronizations without a resource behind them.
+     */
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
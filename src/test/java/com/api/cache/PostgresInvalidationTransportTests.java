@@ -0,0 +1,101 @@
+package com.api.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.api.IntegrationTest;
+import com.api.model.event.AggregateType;
+
+/**
+ * Two transports listening on one channel of the test database stand in for two nodes.
+ */
+@IntegrationTest
+class PostgresInvalidationTransportTests {
+
+    private static final String CHANNEL = "api_cache_invalidation_test";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final RecordingListener writerListener = new RecordingListener();
+
+    private final RecordingListener readerListener = new RecordingListener();
+
+    private PostgresInvalidationTransport writer;
+
+    private PostgresInvalidationTransport reader;
+
+    @AfterEach
+    void stop() {
+        writer.stop();
+        reader.stop();
+    }
+
+    @Test
+    void invalidationsReachOtherNodesOnly() throws Exception {
+        writer = start(writerListener);
+        reader = start(readerListener);
+
+        writer.publish(writerListener, List.of(new CacheInvalidation(AggregateType.PRODUCT, 1L, 2),
+                new CacheInvalidation(AggregateType.CATEGORY, 3L, 4)));
+
+        CacheInvalidation first = readerListener.invalidations.poll(5, TimeUnit.SECONDS);
+        CacheInvalidation second = readerListener.invalidations.poll(5, TimeUnit.SECONDS);
+        assertThat(first).isNotNull();
+        assertThat(first.encode()).isEqualTo("PRODUCT:1:2");
+        assertThat(second).isNotNull();
+        assertThat(second.encode()).isEqualTo("CATEGORY:3:4");
+        assertThat(writerListener.invalidations.poll(500, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    private PostgresInvalidationTransport start(RecordingListener listener) throws InterruptedException {
+        PostgresInvalidationTransport transport = new PostgresInvalidationTransport();
+        ReflectionTestUtils.setField(transport, "dataSource", dataSource);
+        ReflectionTestUtils.setField(transport, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(transport, "channel", CHANNEL);
+        ReflectionTestUtils.setField(transport, "pollIntervalMillis", 100);
+        ReflectionTestUtils.setField(transport, "heartbeatIntervalMillis", 10_000L);
+        ReflectionTestUtils.setField(transport, "maxReconnectDelayMillis", 1_000L);
+        transport.subscribe(listener);
+        transport.start();
+        assertThat(listener.connected.await(5, TimeUnit.SECONDS)).isTrue();
+        return transport;
+    }
+
+    private static final class RecordingListener implements InvalidationTransport.Listener {
+
+        private final BlockingQueue<CacheInvalidation> invalidations = new LinkedBlockingQueue<>();
+
+        private final CountDownLatch connected = new CountDownLatch(1);
+
+        @Override
+        public void onInvalidation(CacheInvalidation invalidation) {
+            invalidations.add(invalidation);
+        }
+
+        @Override
+        public void onConnected() {
+            connected.countDown();
+        }
+
+        @Override
+        public void onDisconnected() {
+        }
+    }
+}
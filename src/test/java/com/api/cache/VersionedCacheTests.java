@@ -0,0 +1,94 @@
+package com.api.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VersionedCacheTests {
+
+    private static final Long ID = 1L;
+
+    private VersionedCache<String> cache;
+
+    @BeforeEach
+    void createCache() {
+        cache = new VersionedCache<>(100);
+        cache.setEnabled(true);
+    }
+
+    @Test
+    void newCacheIsDisabled() {
+        VersionedCache<String> created = new VersionedCache<>(100);
+
+        created.put(ID, "v1", 1);
+
+        assertThat(created.get(ID)).isNull();
+    }
+
+    @Test
+    void invalidationEvictsOlderVersions() {
+        cache.put(ID, "v1", 1);
+
+        assertThat(cache.invalidate(ID, 2)).isTrue();
+
+        assertThat(cache.get(ID)).isNull();
+    }
+
+    @Test
+    void invalidationKeepsTheVersionItAnnounces() {
+        cache.put(ID, "v2", 2);
+
+        cache.invalidate(ID, 2);
+
+        assertThat(cache.get(ID)).isEqualTo("v2");
+    }
+
+    @Test
+    void stalePutAfterAnInvalidationIsRejected() {
+        // A read loaded v1, a write of v2 committed and was invalidated, then the read puts
+        cache.invalidate(ID, 2);
+
+        cache.put(ID, "v1", 1);
+        assertThat(cache.get(ID)).isNull();
+
+        cache.put(ID, "v2", 2);
+        assertThat(cache.get(ID)).isEqualTo("v2");
+    }
+
+    @Test
+    void reorderedInvalidationIsIgnored() {
+        assertThat(cache.invalidate(ID, 3)).isTrue();
+        cache.put(ID, "v3", 3);
+
+        assertThat(cache.invalidate(ID, 2)).isFalse();
+
+        assertThat(cache.get(ID)).isEqualTo("v3");
+        cache.put(ID, "v2", 2);
+        assertThat(cache.get(ID)).isEqualTo("v3");
+    }
+
+    @Test
+    void clearForgetsValuesAndInvalidatedVersions() {
+        cache.put(ID, "v1", 1);
+        cache.invalidate(2L, 5);
+
+        cache.clear();
+
+        assertThat(cache.get(ID)).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.invalidate(2L, 4)).isTrue();
+    }
+
+    @Test
+    void disabledCacheNeitherServesNorStores() {
+        cache.put(ID, "v1", 1);
+
+        cache.setEnabled(false);
+        assertThat(cache.get(ID)).isNull();
+        cache.put(2L, "v1", 1);
+
+        cache.setEnabled(true);
+        assertThat(cache.get(2L)).isNull();
+    }
+}
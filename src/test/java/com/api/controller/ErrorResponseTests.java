@@ -0,0 +1,131 @@
+package com.api.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.SQLException;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.api.exception.ApiException;
+import com.api.exception.ApiExceptionHandler;
+import com.api.exception.ErrorCode;
+
+/**
+ * The JSON shape and status of the errors produced by {@link ApiExceptionHandler}, raised by a stub
+ * controller so every branch can be reached without a database.
+ */
+class ErrorResponseTests {
+
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new FailingController())
+            .setControllerAdvice(new ApiExceptionHandler())
+            .build();
+
+    @Test
+    void apiExceptionReturnsItsCodeAndMessage() throws Exception {
+        mockMvc.perform(get("/failing/api"))
+            .andExpect(status().isNotFound())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.code").value("PRODUCT_NOT_FOUND"))
+            .andExpect(jsonPath("$.message").value(ErrorCode.PRODUCT_NOT_FOUND.getMessage()));
+        mockMvc.perform(get("/failing/api").param("detail", "Custom message"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("INVALID_QUERY"))
+            .andExpect(jsonPath("$.message").value("Custom message"));
+    }
+
+    @Test
+    void apiExceptionSkipsTheStackTrace() {
+        assertThat(new ApiException(ErrorCode.PRODUCT_NOT_FOUND).getStackTrace()).isEmpty();
+        assertThat(new ApiException(ErrorCode.INVALID_QUERY, "detail").getStackTrace()).isEmpty();
+    }
+
+    @Test
+    void unexpectedExceptionDoesNotLeakItsMessage() throws Exception {
+        mockMvc.perform(get("/failing/unexpected"))
+            .andExpect(status().isInternalServerError())
+            .andExpect(jsonPath("$.code").value("INTERNAL_ERROR"))
+            .andExpect(jsonPath("$.message").value(ErrorCode.INTERNAL_ERROR.getMessage()));
+    }
+
+    @Test
+    void integrityViolationsAreConflicts() throws Exception {
+        mockMvc.perform(get("/failing/integrity").param("constraint", "uk_product_name_upper"))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.code").value("PRODUCT_NAME_CONFLICT"));
+        mockMvc.perform(get("/failing/integrity").param("constraint", "uk_category_name_upper"))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.code").value("CATEGORY_NAME_CONFLICT"));
+        mockMvc.perform(get("/failing/integrity").param("constraint", "fk_product_category"))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.code").value("DATA_CONFLICT"));
+    }
+
+    @Test
+    void malformedBodyIsABadRequest() throws Exception {
+        mockMvc.perform(post("/failing/body").contentType(MediaType.APPLICATION_JSON).content("{"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("MALFORMED_REQUEST"));
+    }
+
+    @Test
+    void unsupportedMethodKeepsTheAllowHeader() throws Exception {
+        mockMvc.perform(post("/failing/api"))
+            .andExpect(status().isMethodNotAllowed())
+            .andExpect(header().string("Allow", "GET"))
+            .andExpect(jsonPath("$.code").value("REQUEST_REJECTED"));
+    }
+
+    @Test
+    void unsupportedMediaTypeKeepsTheAcceptHeader() throws Exception {
+        mockMvc.perform(post("/failing/body").contentType(MediaType.TEXT_PLAIN).content("x"))
+            .andExpect(status().isUnsupportedMediaType())
+            .andExpect(header().string("Accept", MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.code").value("REQUEST_REJECTED"));
+    }
+
+    @RestController
+    static class FailingController {
+
+        @GetMapping("/failing/api")
+        public String api(@RequestParam(required = false) String detail) {
+            throw detail != null ? new ApiException(ErrorCode.INVALID_QUERY, detail) : new ApiException(ErrorCode.PRODUCT_NOT_FOUND);
+        }
+
+        @GetMapping("/failing/unexpected")
+        public String unexpected() {
+            throw new IllegalStateException("connection to db-internal-3:5432 refused");
+        }
+
+        @GetMapping("/failing/integrity")
+        public String integrity(@RequestParam String constraint) {
+            throw new DataIntegrityViolationException("could not execute statement",
+                    new ConstraintViolationException("duplicate key", new SQLException("duplicate key"), constraint));
+        }
+
+        @PostMapping(path = "/failing/body", consumes = MediaType.APPLICATION_JSON_VALUE)
+        public String body(@RequestBody Payload payload) {
+            return payload.name;
+        }
+    }
+
+    static class Payload {
+
+        public String name;
+    }
+}
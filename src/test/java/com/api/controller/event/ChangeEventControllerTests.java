@@ -0,0 +1,79 @@
+package com.api.controller.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.api.IntegrationTest;
+import com.api.TestData;
+import com.api.service.event.ChangeEventService;
+import com.api.service.event.SseChangeEventSink;
+import com.api.service.product.CategoryService;
+
+@IntegrationTest
+class ChangeEventControllerTests {
+
+    private static final int MAX_REPLAY = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SseChangeEventSink sseChangeEventSink;
+
+    @Autowired
+    private ChangeEventService changeEventService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private Object defaultMaxReplay;
+
+    @BeforeEach
+    void limitReplay() {
+        defaultMaxReplay = ReflectionTestUtils.getField(sseChangeEventSink, "maxReplay");
+        ReflectionTestUtils.setField(sseChangeEventSink, "maxReplay", MAX_REPLAY);
+    }
+
+    @AfterEach
+    void restoreReplay() {
+        ReflectionTestUtils.setField(sseChangeEventSink, "maxReplay", defaultMaxReplay);
+    }
+
+    @Test
+    void streamReplaysARecentOffset() throws Exception {
+        long before = changeEventService.findLatestOffset();
+        categoryService.saveCategory(TestData.category());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/events/stream").param("after", String.valueOf(before))
+                .accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        assertThat(result.getResponse().getContentAsString()).contains("id:" + (before + 1));
+    }
+
+    @Test
+    void streamRefusesAnOffsetTooFarBehind() throws Exception {
+        long before = changeEventService.findLatestOffset();
+        for (int i = 0; i <= MAX_REPLAY; i++) {
+            categoryService.saveCategory(TestData.category());
+        }
+
+        mockMvc.perform(get("/api/v1/events/stream").header("Last-Event-ID", before)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.code").value("EVENT_REPLAY_TOO_LARGE"));
+    }
+}
@@ -0,0 +1,200 @@
+package com.api.controller.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.api.IntegrationTest;
+import com.api.TestData;
+import com.api.dto.product.ProductDTO;
+import com.api.service.product.CategoryService;
+import com.api.service.product.ProductService;
+
+@IntegrationTest
+class ProductControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private Long idCategory;
+
+    @BeforeEach
+    void createCategory() {
+        idCategory = categoryService.saveCategory(TestData.category()).getIdCategory();
+    }
+
+    @Test
+    void emptyIdListIsAValidationError() throws Exception {
+        mockMvc.perform(get("/api/v1/products").param("ids", ""))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("VALIDATION_FAILED"))
+            .andExpect(jsonPath("$.message").value("At least one product id is required"));
+    }
+
+    @Test
+    void tooManyIdsPointToTheLookupEndpoint() throws Exception {
+        mockMvc.perform(get("/api/v1/products").param("ids", "1,".repeat(500) + "501"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("TOO_MANY_IDS"));
+    }
+
+    @Test
+    void mergePatchWritesOnlyTheSuppliedFields() throws Exception {
+        ProductDTO created = productService.saveProduct(TestData.product(idCategory, 10, 5));
+
+        mergePatch(created.getIdProduct(), "{\"price\": 12.5}")
+            .andExpect(status().isOk());
+
+        ProductDTO patched = productService.findProductById(created.getIdProduct()).orElseThrow();
+        assertThat(patched.getPrice()).isEqualTo(12.5);
+        assertThat(patched.getTotalQuantity()).isEqualTo(5);
+        assertThat(patched.getName()).isEqualTo(created.getName());
+        assertThat(patched.getIdCategory()).isEqualTo(idCategory);
+    }
+
+    @Test
+    void mergePatchRejectsRemovingAField() throws Exception {
+        ProductDTO created = productService.saveProduct(TestData.product(idCategory, 10, 5));
+
+        mergePatch(created.getIdProduct(), "{\"price\": 12.5, \"description\": null}")
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("FIELD_NOT_REMOVABLE"));
+
+        assertThat(productService.findProductById(created.getIdProduct()).orElseThrow().getPrice()).isEqualTo(10.0);
+    }
+
+    @Test
+    void mergePatchRejectsValuesOfTheWrongType() throws Exception {
+        ProductDTO created = productService.saveProduct(TestData.product(idCategory, 10, 5));
+
+        mergePatch(created.getIdProduct(), "{\"price\": \"abc\"}")
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("MALFORMED_REQUEST"));
+        mergePatch(created.getIdProduct(), "[]")
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("MALFORMED_REQUEST"));
+    }
+
+    @Test
+    void mergePatchValidatesOnlyTheSuppliedFields() throws Exception {
+        ProductDTO created = productService.saveProduct(TestData.product(idCategory, 10, 5));
+
+        mergePatch(created.getIdProduct(), "{\"totalQuantity\": -1}")
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("VALIDATION_FAILED"))
+            .andExpect(jsonPath("$.message").value("Total quantity cannot be negative"));
+    }
+
+    @Test
+    void batchPatchUpdatesExistingProductsAndReportsMissingOnes() throws Exception {
+        ProductDTO first = productService.saveProduct(TestData.product(idCategory, 10, 5));
+        ProductDTO second = productService.saveProduct(TestData.product(idCategory, 20, 6));
+        long missing = Long.MAX_VALUE;
+
+        batchPatch("[{\"idProduct\": " + first.getIdProduct() + ", \"price\": 11},"
+                + "{\"idProduct\": " + missing + ", \"price\": 1},"
+                + "{\"idProduct\": " + second.getIdProduct() + ", \"totalQuantity\": 7},"
+                + "{\"idProduct\": " + first.getIdProduct() + ", \"price\": 12}]")
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.updated").value(2))
+            .andExpect(jsonPath("$.missing[0]").value(missing));
+
+        ProductDTO firstAfter = productService.findProductById(first.getIdProduct()).orElseThrow();
+        assertThat(firstAfter.getPrice()).isEqualTo(12.0);
+        assertThat(firstAfter.getTotalQuantity()).isEqualTo(5);
+        ProductDTO secondAfter = productService.findProductById(second.getIdProduct()).orElseThrow();
+        assertThat(secondAfter.getPrice()).isEqualTo(20.0);
+        assertThat(secondAfter.getTotalQuantity()).isEqualTo(7);
+    }
+
+    @Test
+    void batchPatchIsRejectedAsAWholeWhenAnItemIsInvalid() throws Exception {
+        ProductDTO created = productService.saveProduct(TestData.product(idCategory, 10, 5));
+
+        batchPatch("[{\"idProduct\": " + created.getIdProduct() + ", \"price\": 11}, {\"price\": 1}]")
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("VALIDATION_FAILED"))
+            .andExpect(jsonPath("$.message").value("Item 1: Product id is required"));
+        batchPatch("[]")
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("INVALID_BATCH"));
+
+        assertThat(productService.findProductById(created.getIdProduct()).orElseThrow().getPrice()).isEqualTo(10.0);
+    }
+
+    @Test
+    void listingReturnsEveryProductAsAnArray() throws Exception {
+        productService.saveProduct(TestData.product(idCategory, 10, 5));
+
+        mockMvc.perform(get("/api/v1/products"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$[0].idProduct").exists());
+    }
+
+    @Test
+    void searchReturnsOnePageOfTheMatches() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            productService.saveProduct(TestData.product(idCategory, 10 + i, 5));
+        }
+
+        mockMvc.perform(get("/api/v1/products/search")
+                .param("filter", "idCategory:eq:" + idCategory)
+                .param("sort", "-price")
+                .param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.products.length()").value(2))
+            .andExpect(jsonPath("$.products[0].price").value(12.0))
+            .andExpect(jsonPath("$.products[1].price").value(11.0))
+            .andExpect(jsonPath("$.hasNext").value(true));
+        mockMvc.perform(get("/api/v1/products/search").param("filter", "description:eq:foo"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("INVALID_QUERY"));
+    }
+
+    @Test
+    void searchMatchesEscapedCommasAndIgnoresCase() throws Exception {
+        ProductDTO productDTO = TestData.product(idCategory, 10, 5);
+        productDTO.setName(TestData.uniqueName("Cable, 2 m"));
+        ProductDTO created = productService.saveProduct(productDTO);
+        String escapedName = created.getName().toLowerCase(Locale.ROOT).replace(",", "\\,");
+
+        mockMvc.perform(get("/api/v1/products/search").param("filter", "name:eq:" + escapedName))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.products.length()").value(1))
+            .andExpect(jsonPath("$.products[0].idProduct").value(created.getIdProduct()));
+        mockMvc.perform(get("/api/v1/products/search")
+                .param("filter", "idCategory:eq:" + idCategory + ",name:contains:e\\, 2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.products.length()").value(1));
+    }
+
+    private ResultActions mergePatch(Long id, String body) throws Exception {
+        return mockMvc.perform(patch("/api/v1/products/{id}", id)
+                .contentType(ProductController.MERGE_PATCH_JSON_VALUE)
+                .content(body));
+    }
+
+    private ResultActions batchPatch(String body) throws Exception {
+        return mockMvc.perform(patch("/api/v1/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+}
@@ -0,0 +1,124 @@
+package com.api.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.StreamUtils;
+
+import com.api.ratelimit.ClientKeyResolver;
+import com.api.ratelimit.RateLimitProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class IdempotencyFilterTests {
+
+    private static final int MAX_BODY_BYTES = 64;
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private int responseStatus = 201;
+
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void createFilter() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setMaxBodyBytes(MAX_BODY_BYTES);
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore();
+        ReflectionTestUtils.setField(store, "properties", properties);
+        ClientKeyResolver clientKeyResolver = new ClientKeyResolver();
+        ReflectionTestUtils.setField(clientKeyResolver, "properties", new RateLimitProperties());
+        filter = new IdempotencyFilter(store, clientKeyResolver, properties, new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void retryIsReplayedWithoutExecutingAgain() throws Exception {
+        MockHttpServletResponse first = post("key", "{\"name\":\"a\"}");
+        MockHttpServletResponse retry = post("key", "{\"name\":\"a\"}");
+
+        assertThat(executions).hasValue(1);
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString()).contains("{\"name\":\"a\"}");
+    }
+
+    @Test
+    void keyReusedWithAnotherBodyIsRejected() throws Exception {
+        post("key", "{\"name\":\"a\"}");
+
+        MockHttpServletResponse reused = post("key", "{\"name\":\"b\"}");
+
+        assertThat(executions).hasValue(1);
+        assertThat(reused.getStatus()).isEqualTo(422);
+        assertThat(reused.getContentAsString()).contains("IDEMPOTENCY_KEY_REUSED");
+    }
+
+    @Test
+    void serverErrorIsNotRecorded() throws Exception {
+        responseStatus = 500;
+        post("key", "{}");
+        responseStatus = 201;
+
+        assertThat(post("key", "{}").getStatus()).isEqualTo(201);
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void bodyOverTheLimitIsRejectedUnread() throws Exception {
+        MockHttpServletResponse tooLarge = post("key", "x".repeat(MAX_BODY_BYTES + 1));
+
+        assertThat(executions).hasValue(0);
+        assertThat(tooLarge.getStatus()).isEqualTo(413);
+        assertThat(tooLarge.getContentAsString()).contains("IDEMPOTENCY_BODY_TOO_LARGE");
+        assertThat(post("key", "x".repeat(MAX_BODY_BYTES)).getStatus()).isEqualTo(201);
+    }
+
+    @Test
+    void invalidKeyIsRejected() throws Exception {
+        assertThat(post("", "{}").getStatus()).isEqualTo(400);
+        assertThat(post("k".repeat(256), "{}").getStatus()).isEqualTo(400);
+        assertThat(executions).hasValue(0);
+    }
+
+    private MockHttpServletResponse post(String idempotencyKey, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/products");
+        request.setRemoteAddr("203.0.113.7");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new EchoServlet()));
+        return response;
+    }
+
+    /**
+     * Counts executions and echoes the request body.
+     */
+    private final class EchoServlet extends HttpServlet {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            executions.incrementAndGet();
+            response.setStatus(responseStatus);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"echo\":" + StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8) + "}");
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.api.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class InMemoryIdempotencyStoreTests {
+
+    private static final StoredResponse CREATED = new StoredResponse(201, "application/json", "{}".getBytes(StandardCharsets.UTF_8));
+
+    private IdempotencyProperties properties;
+
+    private InMemoryIdempotencyStore store;
+
+    @BeforeEach
+    void createStore() {
+        properties = new IdempotencyProperties();
+        properties.setWaitTimeoutMs(5_000);
+        store = new InMemoryIdempotencyStore();
+        ReflectionTestUtils.setField(store, "properties", properties);
+    }
+
+    @Test
+    void completedRequestIsReplayed() {
+        assertThat(store.claim("key", "fingerprint").getStatus()).isEqualTo(Claim.Status.ACQUIRED);
+        store.complete("key", CREATED);
+
+        Claim retry = store.claim("key", "fingerprint");
+
+        assertThat(retry.getStatus()).isEqualTo(Claim.Status.REPLAY);
+        assertThat(retry.getResponse()).isSameAs(CREATED);
+    }
+
+    @Test
+    void keyReusedForAnotherRequestIsAMismatch() {
+        store.claim("key", "fingerprint");
+
+        assertThat(store.claim("key", "other fingerprint").getStatus()).isEqualTo(Claim.Status.MISMATCH);
+        store.complete("key", CREATED);
+        assertThat(store.claim("key", "other fingerprint").getStatus()).isEqualTo(Claim.Status.MISMATCH);
+    }
+
+    @Test
+    void concurrentDuplicateWaitsForTheOriginal() throws Exception {
+        store.claim("key", "fingerprint");
+
+        CompletableFuture<Claim> duplicate = CompletableFuture.supplyAsync(() -> store.claim("key", "fingerprint"));
+        Thread.sleep(200);
+        assertThat(duplicate).isNotDone();
+        store.complete("key", CREATED);
+
+        Claim claim = duplicate.get(5, TimeUnit.SECONDS);
+        assertThat(claim.getStatus()).isEqualTo(Claim.Status.REPLAY);
+        assertThat(claim.getResponse()).isSameAs(CREATED);
+    }
+
+    @Test
+    void duplicateGivesUpAfterTheWaitTimeout() {
+        properties.setWaitTimeoutMs(50);
+        store.claim("key", "fingerprint");
+
+        assertThat(store.claim("key", "fingerprint").getStatus()).isEqualTo(Claim.Status.IN_PROGRESS);
+    }
+
+    @Test
+    void abandonedKeyExecutesAgain() throws Exception {
+        store.claim("key", "fingerprint");
+        CompletableFuture<Claim> duplicate = CompletableFuture.supplyAsync(() -> store.claim("key", "fingerprint"));
+        Thread.sleep(100);
+
+        store.abandon("key");
+
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(Claim.Status.ACQUIRED);
+    }
+
+    @Test
+    void oldestCompletedEntriesAreEvictedPastTheBound() {
+        properties.setMaxEntries(2);
+        for (String key : new String[] { "first", "second", "third" }) {
+            store.claim(key, "fingerprint");
+            store.complete(key, CREATED);
+        }
+
+        assertThat(store.claim("first", "other fingerprint").getStatus()).isEqualTo(Claim.Status.ACQUIRED);
+        assertThat(store.claim("third", "fingerprint").getStatus()).isEqualTo(Claim.Status.REPLAY);
+    }
+
+    @Test
+    void inFlightEntriesAreNotEvicted() {
+        properties.setMaxEntries(1);
+        properties.setWaitTimeoutMs(0);
+        store.claim("in flight", "fingerprint");
+        store.claim("second", "fingerprint");
+        store.complete("second", CREATED);
+
+        assertThat(store.claim("in flight", "fingerprint").getStatus()).isEqualTo(Claim.Status.IN_PROGRESS);
+    }
+
+    @Test
+    void expiredEntriesArePurged() throws Exception {
+        properties.setTtlMs(50);
+        store.claim("key", "fingerprint");
+        store.complete("key", CREATED);
+        store.claim("abandoned", "fingerprint");
+        store.abandon("abandoned");
+        Thread.sleep(100);
+
+        store.purgeExpired();
+
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(store, "entries")).isEmpty();
+        assertThat((Iterable<?>) ReflectionTestUtils.getField(store, "claimOrder")).isEmpty();
+    }
+}
@@ -0,0 +1,105 @@
+package com.api.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.api.IntegrationTest;
+
+/**
+ * Two store instances over the same table stand in for two nodes.
+ */
+@IntegrationTest
+class JdbcIdempotencyStoreTests {
+
+    private static final long LEASE_MS = 300;
+
+    private static final StoredResponse CREATED = new StoredResponse(201, "application/json", "{}".getBytes(StandardCharsets.UTF_8));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String key = UUID.randomUUID().toString();
+
+    @Test
+    void otherNodeReplaysOrRejectsACompletedKey() {
+        JdbcIdempotencyStore node = node(1_000);
+        JdbcIdempotencyStore otherNode = node(1_000);
+        assertThat(node.claim(key, "fingerprint").getStatus()).isEqualTo(Claim.Status.ACQUIRED);
+        node.complete(key, CREATED);
+
+        Claim replay = otherNode.claim(key, "fingerprint");
+
+        assertThat(replay.getStatus()).isEqualTo(Claim.Status.REPLAY);
+        assertThat(replay.getResponse().getStatus()).isEqualTo(201);
+        assertThat(otherNode.claim(key, "other fingerprint").getStatus()).isEqualTo(Claim.Status.MISMATCH);
+    }
+
+    @Test
+    void duplicateOnAnotherNodeWaitsForTheResponse() throws Exception {
+        JdbcIdempotencyStore node = node(5_000);
+        JdbcIdempotencyStore otherNode = node(5_000);
+        node.claim(key, "fingerprint");
+
+        Thread completer = new Thread(() -> {
+            sleep(150);
+            node.complete(key, CREATED);
+        });
+        completer.start();
+
+        assertThat(otherNode.claim(key, "fingerprint").getStatus()).isEqualTo(Claim.Status.REPLAY);
+        completer.join();
+    }
+
+    @Test
+    void renewedLeaseKeepsTheKey() {
+        JdbcIdempotencyStore node = node(0);
+        JdbcIdempotencyStore otherNode = node(0);
+        node.claim(key, "fingerprint");
+
+        for (int i = 0; i < 4; i++) {
+            sleep(LEASE_MS / 2);
+            node.renewLeases();
+        }
+
+        assertThat(otherNode.claim(key, "fingerprint").getStatus()).isEqualTo(Claim.Status.IN_PROGRESS);
+    }
+
+    @Test
+    void expiredLeaseIsTakenOver() {
+        JdbcIdempotencyStore deadNode = node(0);
+        JdbcIdempotencyStore otherNode = node(0);
+        deadNode.claim(key, "fingerprint");
+
+        sleep(LEASE_MS * 2);
+
+        assertThat(otherNode.claim(key, "fingerprint").getStatus()).isEqualTo(Claim.Status.ACQUIRED);
+        otherNode.complete(key, CREATED);
+        assertThat(deadNode.claim(key, "fingerprint").getStatus()).isEqualTo(Claim.Status.REPLAY);
+    }
+
+    private JdbcIdempotencyStore node(long waitTimeoutMs) {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setLeaseMs(LEASE_MS);
+        properties.setWaitTimeoutMs(waitTimeoutMs);
+        JdbcIdempotencyStore store = new JdbcIdempotencyStore();
+        ReflectionTestUtils.setField(store, "properties", properties);
+        ReflectionTestUtils.setField(store, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(store, "pollIntervalMillis", 20L);
+        return store;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.api.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTests {
+
+    private static final long THRESHOLD = 500;
+
+    private static final long FAST = THRESHOLD;
+
+    private static final long SLOW = THRESHOLD + 1;
+
+    @Test
+    void requestsBeyondTheLimitAreShed() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, THRESHOLD);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+
+        limiter.release(FAST);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void slowRequestCutsTheLimitByTenPercent() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 2, 100, THRESHOLD);
+
+        release(limiter, SLOW, 1);
+        assertThat(limiter.getLimit()).isEqualTo(18);
+
+        release(limiter, SLOW, 1);
+        // 18 * 0.9 = 16.2
+        assertThat(limiter.getLimit()).isEqualTo(16);
+    }
+
+    @Test
+    void limitGrowsByOneAfterAboutALimitOfFastRequests() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 2, 100, THRESHOLD);
+
+        release(limiter, FAST, 20);
+        assertThat(limiter.getLimit()).isEqualTo(20);
+
+        release(limiter, FAST, 1);
+        assertThat(limiter.getLimit()).isEqualTo(21);
+    }
+
+    @Test
+    void limitStaysWithinItsBounds() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(5, 2, 6, THRESHOLD);
+
+        release(limiter, SLOW, 50);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        release(limiter, FAST, 1000);
+        assertThat(limiter.getLimit()).isEqualTo(6);
+    }
+
+    private static void release(AdaptiveConcurrencyLimiter limiter, long latencyNanos, int times) {
+        for (int i = 0; i < times; i++) {
+            limiter.tryAcquire();
+            limiter.release(latencyNanos);
+        }
+    }
+}
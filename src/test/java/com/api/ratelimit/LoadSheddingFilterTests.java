@@ -0,0 +1,96 @@
+package com.api.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.api.idempotency.IdempotencyFilter;
+import com.api.idempotency.IdempotencyProperties;
+import com.api.idempotency.InMemoryIdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+
+class LoadSheddingFilterTests {
+
+    private LoadShedder loadShedder;
+
+    private LoadSheddingFilter filter;
+
+    @BeforeEach
+    void createFilter() {
+        loadShedder = mock(LoadShedder.class);
+        when(loadShedder.tryAcquire()).thenReturn(true);
+        filter = new LoadSheddingFilter(loadShedder, new RateLimitProperties(), new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shedWriteTellsTheClientWhenToRetry() throws Exception {
+        when(loadShedder.isPoolSaturated()).thenReturn(true);
+
+        MockHttpServletResponse shed = send(new MockHttpServletRequest("POST", "/api/v1/products"));
+
+        assertThat(shed.getStatus()).isEqualTo(503);
+        assertThat(shed.getHeader("Retry-After")).isEqualTo("1");
+        verify(loadShedder, never()).tryAcquire();
+    }
+
+    @Test
+    void writeOverTheConcurrencyLimitIsShed() throws Exception {
+        when(loadShedder.tryAcquire()).thenReturn(false);
+
+        assertThat(send(new MockHttpServletRequest("PUT", "/api/v1/products/1")).getStatus()).isEqualTo(503);
+        verify(loadShedder, never()).release(anyLong());
+    }
+
+    @Test
+    void readsAndLookupsNeverTakeASlot() throws Exception {
+        send(new MockHttpServletRequest("GET", "/api/v1/products"));
+        send(new MockHttpServletRequest("POST", "/api/v1/products/lookup"));
+
+        verify(loadShedder, never()).tryAcquire();
+    }
+
+    @Test
+    void idempotentReplayDoesNotTakeASlot() throws Exception {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore();
+        ReflectionTestUtils.setField(store, "properties", properties);
+        ClientKeyResolver clientKeyResolver = new ClientKeyResolver();
+        ReflectionTestUtils.setField(clientKeyResolver, "properties", new RateLimitProperties());
+        IdempotencyFilter idempotencyFilter = new IdempotencyFilter(store, clientKeyResolver, properties, new ObjectMapper(),
+                new SimpleMeterRegistry());
+
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/products");
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key");
+            request.setContent("{}".getBytes(StandardCharsets.UTF_8));
+            idempotencyFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+                private static final long serialVersionUID = 1L;
+            }, filter));
+        }
+
+        verify(loadShedder, times(1)).tryAcquire();
+        verify(loadShedder, times(1)).release(anyLong());
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
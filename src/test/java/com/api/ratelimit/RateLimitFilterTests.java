@@ -0,0 +1,66 @@
+package com.api.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitFilterTests {
+
+    private static final String KNOWN_KEY = "known-client-key";
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void createFilter() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setWrite(new RateLimitProperties.Budget(1, 2));
+        properties.setApiKeys(Set.of(KNOWN_KEY));
+        ClientRateLimiter clientRateLimiter = new ClientRateLimiter();
+        ReflectionTestUtils.setField(clientRateLimiter, "properties", properties);
+        ClientKeyResolver clientKeyResolver = new ClientKeyResolver();
+        ReflectionTestUtils.setField(clientKeyResolver, "properties", properties);
+        filter = new RateLimitFilter(clientRateLimiter, clientKeyResolver, new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void unknownApiKeysShareTheBudgetOfTheirAddress() throws Exception {
+        assertThat(post(UUID.randomUUID().toString()).getStatus()).isEqualTo(200);
+        assertThat(post(UUID.randomUUID().toString()).getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse limited = post(UUID.randomUUID().toString());
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader("Retry-After")).isEqualTo("1");
+    }
+
+    @Test
+    void knownApiKeyHasItsOwnBudget() throws Exception {
+        post(null);
+        post(null);
+        assertThat(post(null).getStatus()).isEqualTo(429);
+
+        assertThat(post(KNOWN_KEY).getStatus()).isEqualTo(200);
+    }
+
+    private MockHttpServletResponse post(String apiKey) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/products");
+        request.setRemoteAddr("203.0.113.7");
+        if (apiKey != null) {
+            request.addHeader(ClientKeyResolver.API_KEY_HEADER, apiKey);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
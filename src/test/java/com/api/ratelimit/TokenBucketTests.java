@@ -0,0 +1,71 @@
+package com.api.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTests {
+
+    private static final long START = 1_000_000_000L;
+
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void fullBucketAllowsTheWholeBurstAtOnce() {
+        TokenBucket bucket = new TokenBucket(10, 3, START);
+
+        assertThat(bucket.tryAcquire(START)).isZero();
+        assertThat(bucket.tryAcquire(START)).isZero();
+        assertThat(bucket.tryAcquire(START)).isZero();
+        assertThat(bucket.tryAcquire(START)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void emptyBucketRefillsOneTokenPerEmissionInterval() {
+        TokenBucket bucket = new TokenBucket(10, 3, START);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire(START);
+        }
+
+        assertThat(bucket.tryAcquire(START + INTERVAL / 4)).isEqualTo(INTERVAL * 3 / 4);
+        assertThat(bucket.tryAcquire(START + INTERVAL)).isZero();
+        assertThat(bucket.tryAcquire(START + INTERVAL)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void refillIsCappedAtTheBurst() {
+        TokenBucket bucket = new TokenBucket(10, 3, START);
+        long muchLater = START + TimeUnit.SECONDS.toNanos(60);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryAcquire(muchLater)).isZero();
+        }
+        assertThat(bucket.tryAcquire(muchLater)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void sustainedRateMatchesPermitsPerSecond() {
+        TokenBucket bucket = new TokenBucket(10, 1, START);
+        int allowed = 0;
+        // One attempt per millisecond for two seconds
+        for (long now = START; now < START + TimeUnit.SECONDS.toNanos(2); now += TimeUnit.MILLISECONDS.toNanos(1)) {
+            if (bucket.tryAcquire(now) == 0) {
+                allowed++;
+            }
+        }
+
+        assertThat(allowed).isEqualTo(20);
+    }
+
+    @Test
+    void bucketIsFullOnceItsTokensAreBack() {
+        TokenBucket bucket = new TokenBucket(10, 3, START);
+        bucket.tryAcquire(START);
+        bucket.tryAcquire(START);
+
+        assertThat(bucket.isFull(START + INTERVAL)).isFalse();
+        assertThat(bucket.isFull(START + 2 * INTERVAL)).isTrue();
+    }
+}
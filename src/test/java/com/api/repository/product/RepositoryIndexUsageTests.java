@@ -0,0 +1,197 @@
+package com.api.repository.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import com.api.IntegrationTest;
+import com.api.model.event.AggregateType;
+import com.api.repository.event.ChangeEventRepository;
+import com.api.service.product.ProductQueryParser;
+
+/**
+ * Checks that the hot repository queries are answered from an index. The catalog is seeded with enough
+ * rows for the planner to prefer an index when one applies; each query is then run through its repository
+ * method, and the SQL Hibernate actually generated is explained as a generic plan (bound parameters left
+ * unknown), which is the plan PostgreSQL falls back to for prepared statements. Pattern lookups are the
+ * exception: a generic plan cannot cost an unknown LIKE pattern, so PostgreSQL keeps planning them with the
+ * bound values, and they are explained with the pattern and page size in place.
+ */
+@IntegrationTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.api.repository.product.RepositoryIndexUsageTests$CapturedStatements")
+class RepositoryIndexUsageTests {
+
+    private static final int CATEGORIES = 2_000;
+
+    private static final int PRODUCTS = 20_000;
+
+    private static final Pattern PARAMETER = Pattern.compile("\\?");
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String prefix = "Indexed " + UUID.randomUUID().toString().substring(0, 8);
+
+    private long idCategory;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO category (name, description) "
+                + "SELECT ? || ' category ' || g, 'Seeded category' FROM generate_series(1, ?) g", prefix, CATEGORIES);
+        idCategory = jdbcTemplate.queryForObject("SELECT min(id_category) FROM category WHERE name LIKE ? || '%'", Long.class, prefix);
+        jdbcTemplate.update("INSERT INTO product (name, description, total_quantity, price, category_id) "
+                + "SELECT ? || ' product ' || g, 'Seeded product', g % 100, 1 + g % 997, ? + g % ? FROM generate_series(1, ?) g",
+                prefix, idCategory, CATEGORIES, PRODUCTS);
+        jdbcTemplate.update("INSERT INTO product (name, description, total_quantity, price, category_id) "
+                + "SELECT ? || ' gadget ' || g, 'Seeded product', 1, 1, ? FROM generate_series(1, 10) g", prefix, idCategory);
+        jdbcTemplate.update("INSERT INTO change_event (aggregate_type, aggregate_id, change_type, created_at) "
+                + "SELECT 'PRODUCT', g, 'UPDATED', now() FROM generate_series(1, ?) g", PRODUCTS);
+        // EXPLAIN runs server side so the numbered parameters are not mistaken for bind parameters of the call
+        jdbcTemplate.execute("CREATE OR REPLACE FUNCTION generic_plan(query text) RETURNS SETOF text LANGUAGE plpgsql AS "
+                + "$$ BEGIN RETURN QUERY EXECUTE 'EXPLAIN (GENERIC_PLAN) ' || query; END $$");
+        // VACUUM also moves the seeded rows out of the pending list of the trigram index, as autovacuum
+        // would in production; left there, they make the planner cost the index above a sequential scan
+        jdbcTemplate.execute("ANALYZE category");
+        jdbcTemplate.execute("VACUUM ANALYZE product");
+        jdbcTemplate.execute("ANALYZE change_event");
+    }
+
+    @AfterAll
+    void dropFunction() {
+        jdbcTemplate.execute("DROP FUNCTION IF EXISTS generic_plan(text)");
+    }
+
+    @TestFactory
+    Stream<DynamicTest> hotQueriesUseAnIndex() {
+        return Stream.of(
+            uses("uk_product_name_upper", "product name check",
+                () -> productRepository.existsProductByNameIgnoreCase(prefix + " product 42")),
+            uses("uk_product_name_upper", "product rename check",
+                () -> productRepository.existsByNameIgnoreCaseAndIdProductNot(prefix + " product 42", 1L)),
+            uses("uk_category_name_upper", "category name check",
+                () -> categoryRepository.existsCategoryByNameIgnoreCase(prefix + " category 7")),
+            uses("idx_product_category_id", "category emptiness check",
+                () -> productRepository.existsByCategoryIdCategory(idCategory)),
+            uses("idx_product_category_id", "listing filtered by category",
+                () -> search("idCategory:eq:" + idCategory, null)),
+            uses("idx_product_price", "listing filtered by price range",
+                () -> search("price:gte:100,price:lt:105", "price")),
+            uses("idx_product_total_quantity", "low stock listing",
+                () -> search("totalQuantity:lt:2", "totalQuantity")),
+            // the btree serves prefixes only under the C collation, elsewhere the trigram index does
+            usesAnyOf(List.of("uk_product_name_upper", "idx_product_name_upper_trgm"), "listing filtered by name prefix",
+                () -> search("name:prefix:" + prefix + " product 199", null),
+                (prefix + " product 199%").toUpperCase(Locale.ROOT), "51"),
+            uses("uk_product_name_upper", "listing sorted by name",
+                () -> search(null, "name")),
+            uses("idx_product_name_upper_trgm", "listing filtered by name fragment",
+                () -> search("name:contains:gadget", null),
+                "%GADGET%", "51"),
+            uses("product_pkey", "full sync page",
+                () -> productRepository.findByIdProductGreaterThanOrderByIdProductAsc(0L, PageRequest.of(0, 500))),
+            uses("change_event_pkey", "delta sync page",
+                () -> changeEventRepository.findByAggregateTypeAndIdEventGreaterThanOrderByIdEventAsc(AggregateType.PRODUCT, 0L, PageRequest.of(0, 500))));
+    }
+
+    private Object search(String filter, String sort) {
+        return productRepository.findSlice(ProductQueryParser.parseFilter(filter), PageRequest.of(0, 50, sort != null
+                ? ProductQueryParser.parseSort(sort) : Sort.by("idProduct")));
+    }
+
+    private DynamicTest uses(String index, String query, Runnable repositoryCall, String... boundValues) {
+        return usesAnyOf(List.of(index), query, repositoryCall, boundValues);
+    }
+
+    private DynamicTest usesAnyOf(List<String> indexes, String query, Runnable repositoryCall, String... boundValues) {
+        return DynamicTest.dynamicTest(query + " uses " + String.join(" or ", indexes), () -> {
+            String plan = explain(repositoryCall, boundValues);
+            assertThat(plan).as(plan).containsAnyOf(indexes.toArray(String[]::new));
+        });
+    }
+
+    /**
+     * Runs the repository call and explains the last statement it sent, with the leading parameters replaced
+     * by the given values and the rest left unknown.
+     */
+    private String explain(Runnable repositoryCall, String... boundValues) {
+        CapturedStatements.start();
+        List<String> statements;
+        try {
+            repositoryCall.run();
+        } finally {
+            statements = CapturedStatements.stop();
+        }
+        assertThat(statements).isNotEmpty();
+        String sql = statements.get(statements.size() - 1);
+        Matcher matcher = PARAMETER.matcher(sql);
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        int unknown = 0;
+        while (matcher.find()) {
+            String replacement = parameter < boundValues.length
+                    ? "'" + boundValues[parameter].replace("'", "''") + "'"
+                    : "$" + ++unknown;
+            matcher.appendReplacement(numbered, Matcher.quoteReplacement(replacement));
+            parameter++;
+        }
+        matcher.appendTail(numbered);
+        return String.join("\n", jdbcTemplate.queryForList("SELECT * FROM generic_plan(?)", String.class, numbered.toString()));
+    }
+
+    /**
+     * Records the SQL Hibernate prepares on the test thread while capturing is on.
+     */
+    public static class CapturedStatements implements StatementInspector {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+        static void start() {
+            STATEMENTS.set(new ArrayList<>());
+        }
+
+        static List<String> stop() {
+            List<String> statements = STATEMENTS.get();
+            STATEMENTS.remove();
+            return statements;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> statements = STATEMENTS.get();
+            if (statements != null) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+}
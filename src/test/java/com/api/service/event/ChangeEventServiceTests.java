@@ -0,0 +1,140 @@
+package com.api.service.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.IntegrationTest;
+import com.api.dto.event.ChangeEventDTO;
+import com.api.model.event.AggregateType;
+import com.api.model.event.ChangeType;
+
+@IntegrationTest
+class ChangeEventServiceTests {
+
+    @Autowired
+    private ChangeEventService changeEventService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void eventRecordedFirstButCommittedLastIsNotSkipped() throws Exception {
+        long firstId = randomId();
+        long secondId = randomId();
+        long before = changeEventService.findLatestOffset();
+        CountDownLatch firstRecorded = new CountDownLatch(1);
+        CountDownLatch secondCommitted = new CountDownLatch(1);
+
+        Future<?> first = executor.submit(() -> inTransaction(() -> {
+            changeEventService.record(AggregateType.PRODUCT, firstId, ChangeType.UPDATED, null);
+            firstRecorded.countDown();
+            await(secondCommitted);
+        }));
+        await(firstRecorded);
+        inTransaction(() -> changeEventService.record(AggregateType.PRODUCT, secondId, ChangeType.UPDATED, null));
+        long secondOffset = offsetOf(secondId, before);
+        secondCommitted.countDown();
+        first.get(10, TimeUnit.SECONDS);
+
+        // A consumer that already saw the second event resumes after its offset and must still get the first one
+        assertThat(offsetOf(firstId, secondOffset)).isGreaterThan(secondOffset);
+    }
+
+    @Test
+    void appendsAreSerializedUntilCommit() throws Exception {
+        long firstId = randomId();
+        long secondId = randomId();
+        long before = changeEventService.findLatestOffset();
+        CountDownLatch firstAppended = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+
+        Future<?> first = executor.submit(() -> inTransaction(() -> {
+            changeEventService.record(AggregateType.PRODUCT, firstId, ChangeType.UPDATED, null);
+            // Runs after the outbox synchronization has inserted the event, just before the commit
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    firstAppended.countDown();
+                    await(releaseFirst);
+                }
+            });
+        }));
+        await(firstAppended);
+        Future<?> second = executor.submit(() -> inTransaction(
+                () -> changeEventService.record(AggregateType.PRODUCT, secondId, ChangeType.UPDATED, null)));
+
+        assertThatThrownBy(() -> second.get(500, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        releaseFirst.countDown();
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+
+        assertThat(offsetOf(secondId, before)).isGreaterThan(offsetOf(firstId, before));
+    }
+
+    @Test
+    void rolledBackEventsAreNotAppended() {
+        long id = randomId();
+        long before = changeEventService.findLatestOffset();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            changeEventService.record(AggregateType.PRODUCT, id, ChangeType.DELETED, null);
+            status.setRollbackOnly();
+        });
+
+        assertThat(changeEventService.findEventsAfter(before, 1000))
+            .extracting(ChangeEventDTO::getAggregateId)
+            .doesNotContain(id);
+    }
+
+    private void inTransaction(Runnable action) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> action.run());
+    }
+
+    private long offsetOf(long aggregateId, long after) {
+        List<ChangeEventDTO> events = changeEventService.findEventsAfter(after, 1000);
+        return events.stream()
+            .filter(event -> event.getAggregateId() == aggregateId)
+            .mapToLong(ChangeEventDTO::getOffset)
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("No event for " + aggregateId + " after offset " + after));
+    }
+
+    private static long randomId() {
+        return ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for the other transaction");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
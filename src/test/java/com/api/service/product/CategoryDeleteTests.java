@@ -0,0 +1,212 @@
+package com.api.service.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.IntegrationTest;
+import com.api.TestData;
+import com.api.dto.product.CategoryDeleteMode;
+import com.api.dto.product.CategoryStatsDTO;
+import com.api.dto.product.ProductDTO;
+import com.api.exception.ApiException;
+import com.api.exception.ErrorCode;
+import com.api.repository.product.CategoryRepository;
+
+@IntegrationTest
+class CategoryDeleteTests {
+
+    private static final int CHUNK_SIZE = 2;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryStatsService categoryStatsService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Object defaultChunkSize;
+
+    private Long source;
+
+    private Long target;
+
+    @BeforeEach
+    void createCategories() {
+        // Small chunks so that a handful of products spans several statements
+        Object productServiceTarget = AopTestUtils.getTargetObject(productService);
+        defaultChunkSize = ReflectionTestUtils.getField(productServiceTarget, "categoryDeleteChunkSize");
+        ReflectionTestUtils.setField(productServiceTarget, "categoryDeleteChunkSize", CHUNK_SIZE);
+        source = categoryService.saveCategory(TestData.category()).getIdCategory();
+        target = categoryService.saveCategory(TestData.category()).getIdCategory();
+    }
+
+    @AfterEach
+    void restoreChunkSize() {
+        Object productServiceTarget = AopTestUtils.getTargetObject(productService);
+        ReflectionTestUtils.setField(productServiceTarget, "categoryDeleteChunkSize", defaultChunkSize);
+    }
+
+    @Test
+    void rejectKeepsACategoryWithProducts() {
+        ProductDTO product = productService.saveProduct(TestData.product(source, 10, 1));
+
+        assertErrorCode(() -> categoryService.deleteCategory(source, CategoryDeleteMode.REJECT, null), ErrorCode.CATEGORY_NOT_EMPTY);
+
+        assertThat(categoryService.existsCategoryById(source)).isTrue();
+        assertThat(productService.findProductById(product.getIdProduct())).isPresent();
+    }
+
+    @Test
+    void rejectDeletesAnEmptyCategory() {
+        assertThat(categoryService.deleteCategory(source, CategoryDeleteMode.REJECT, null)).isZero();
+
+        assertThat(categoryService.existsCategoryById(source)).isFalse();
+        assertThat(categoryStatsService.findStatsByCategoryId(source)).isEmpty();
+    }
+
+    @Test
+    void missingCategoryIsNotFound() {
+        assertErrorCode(() -> categoryService.deleteCategory(Long.MAX_VALUE, CategoryDeleteMode.CASCADE, null), ErrorCode.CATEGORY_NOT_FOUND);
+    }
+
+    @Test
+    void reassignMovesEveryProductAndItsAggregates() {
+        List<Long> products = createProducts(source, 5);
+        productService.saveProduct(TestData.product(target, 1, 100));
+
+        assertThat(categoryService.deleteCategory(source, CategoryDeleteMode.REASSIGN, target)).isEqualTo(5);
+
+        assertThat(categoryService.existsCategoryById(source)).isFalse();
+        for (Long id : products) {
+            assertThat(productService.findProductById(id).orElseThrow().getIdCategory()).isEqualTo(target);
+        }
+        CategoryStatsDTO stats = categoryStatsService.findStatsByCategoryId(target).orElseThrow();
+        assertThat(stats.getProductCount()).isEqualTo(6);
+        assertThat(stats.getStockValue()).isEqualTo(5 * 10 * 2 + 100);
+        assertThat(stats.getLowStockCount()).isEqualTo(5);
+    }
+
+    @Test
+    void reassignWorksInBothIdOrders() {
+        createProducts(target, 3);
+
+        // target was created after source, so here the target is locked first
+        assertThat(categoryService.deleteCategory(target, CategoryDeleteMode.REASSIGN, source)).isEqualTo(3);
+
+        assertThat(categoryStatsService.findStatsByCategoryId(source).orElseThrow().getProductCount()).isEqualTo(3);
+    }
+
+    @Test
+    void reassignRejectsInvalidTargets() {
+        createProducts(source, 1);
+
+        assertErrorCode(() -> categoryService.deleteCategory(source, CategoryDeleteMode.REASSIGN, null), ErrorCode.INVALID_REASSIGN_TARGET);
+        assertErrorCode(() -> categoryService.deleteCategory(source, CategoryDeleteMode.REASSIGN, source), ErrorCode.INVALID_REASSIGN_TARGET);
+        assertErrorCode(() -> categoryService.deleteCategory(source, CategoryDeleteMode.REASSIGN, Long.MAX_VALUE), ErrorCode.INVALID_REASSIGN_TARGET);
+
+        assertThat(categoryService.existsCategoryById(source)).isTrue();
+    }
+
+    @Test
+    void reassignFailsIfTheTargetIsDeletedMeanwhile() throws Exception {
+        List<Long> products = createProducts(source, 3);
+        CountDownLatch targetLocked = new CountDownLatch(1);
+        CountDownLatch releaseTarget = new CountDownLatch(1);
+
+        CompletableFuture<Void> targetDeletion = CompletableFuture.runAsync(() ->
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                categoryRepository.findByIdForUpdate(target).orElseThrow();
+                targetLocked.countDown();
+                await(releaseTarget);
+                jdbcTemplate.update("DELETE FROM category WHERE id_category = ?", target);
+            }));
+        await(targetLocked);
+        CompletableFuture<Integer> reassignment = CompletableFuture.supplyAsync(() ->
+            categoryService.deleteCategory(source, CategoryDeleteMode.REASSIGN, target));
+        awaitLockWait();
+        releaseTarget.countDown();
+        targetDeletion.get(10, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> reassignment.get(10, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .cause()
+            .isInstanceOfSatisfying(ApiException.class, e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.INVALID_REASSIGN_TARGET));
+        assertThat(categoryService.existsCategoryById(source)).isTrue();
+        assertThat(productService.findProductById(products.get(0)).orElseThrow().getIdCategory()).isEqualTo(source);
+    }
+
+    @Test
+    void cascadeDeletesEveryProduct() {
+        List<Long> products = createProducts(source, 5);
+
+        assertThat(categoryService.deleteCategory(source, CategoryDeleteMode.CASCADE, null)).isEqualTo(5);
+
+        assertThat(categoryService.existsCategoryById(source)).isFalse();
+        for (Long id : products) {
+            assertThat(productService.findProductById(id)).isEmpty();
+        }
+        assertThat(categoryStatsService.findStatsByCategoryId(source)).isEmpty();
+    }
+
+    private List<Long> createProducts(Long idCategory, int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(productService.saveProduct(TestData.product(idCategory, 10, 2)).getIdProduct());
+        }
+        return ids;
+    }
+
+    private static void assertErrorCode(Runnable call, ErrorCode errorCode) {
+        assertThatThrownBy(call::run)
+            .isInstanceOfSatisfying(ApiException.class, e -> assertThat(e.getErrorCode()).isEqualTo(errorCode));
+    }
+
+    private void awaitLockWait() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (jdbcTemplate.queryForObject("SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'", Integer.class) == 0) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("The reassignment never waited for the target lock");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for the other transaction");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
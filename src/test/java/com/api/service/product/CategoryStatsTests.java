@@ -0,0 +1,138 @@
+package com.api.service.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.api.IntegrationTest;
+import com.api.TestData;
+import com.api.dto.product.CategoryStatsDTO;
+import com.api.dto.product.ProductBatchPatchDTO;
+import com.api.dto.product.ProductDTO;
+
+@IntegrationTest
+class CategoryStatsTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryStatsService categoryStatsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long idCategory;
+
+    @BeforeEach
+    void createCategory() {
+        idCategory = categoryService.saveCategory(TestData.category()).getIdCategory();
+    }
+
+    @Test
+    void newCategoryStartsEmpty() {
+        assertStats(idCategory, 0, 0, 0);
+    }
+
+    @Test
+    void createAddsTheProduct() {
+        productService.saveProduct(TestData.product(idCategory, 10, 3));
+        productService.saveProduct(TestData.product(idCategory, 2.5, 8));
+
+        assertStats(idCategory, 2, 50, 1);
+    }
+
+    @Test
+    void updateReplacesTheOldState() {
+        ProductDTO created = productService.saveProduct(TestData.product(idCategory, 10, 3));
+
+        ProductDTO update = new ProductDTO();
+        update.setPrice(20.0);
+        update.setTotalQuantity(10);
+        productService.updateProduct(created.getIdProduct(), update);
+
+        assertStats(idCategory, 1, 200, 0);
+    }
+
+    @Test
+    void batchPatchAppliesOneDeltaPerCategory() {
+        ProductDTO first = productService.saveProduct(TestData.product(idCategory, 10, 3));
+        ProductDTO second = productService.saveProduct(TestData.product(idCategory, 1, 1));
+
+        productService.patchProducts(List.of(patch(first.getIdProduct(), 10.0, 6), patch(second.getIdProduct(), 4.0, null)));
+
+        assertStats(idCategory, 2, 64, 1);
+    }
+
+    @Test
+    void moveShiftsTheProductBetweenCategories() {
+        Long target = categoryService.saveCategory(TestData.category()).getIdCategory();
+        ProductDTO created = productService.saveProduct(TestData.product(idCategory, 10, 3));
+
+        ProductDTO move = new ProductDTO();
+        move.setIdCategory(target);
+        move.setTotalQuantity(4);
+        productService.updateProduct(created.getIdProduct(), move);
+
+        assertStats(idCategory, 0, 0, 0);
+        assertStats(target, 1, 40, 1);
+    }
+
+    @Test
+    void deleteRemovesTheProduct() {
+        productService.saveProduct(TestData.product(idCategory, 10, 3));
+        ProductDTO deleted = productService.saveProduct(TestData.product(idCategory, 5, 2));
+
+        productService.deleteProduct(deleted.getIdProduct());
+
+        assertStats(idCategory, 1, 30, 1);
+    }
+
+    @Test
+    void reconcileRepairsDrift() {
+        productService.saveProduct(TestData.product(idCategory, 10, 3));
+        productService.saveProduct(TestData.product(idCategory, 2, 50));
+        // Drift as a lost or double-counted delta, or a write outside the API, would leave it
+        jdbcTemplate.update("UPDATE category_stats SET product_count = 7, stock_value = 1, low_stock_count = 0 WHERE category_id = ?", idCategory);
+        jdbcTemplate.update("UPDATE product SET total_quantity = 1 WHERE category_id = ? AND total_quantity = 50", idCategory);
+
+        assertThat(categoryStatsService.reconcile()).isPositive();
+
+        assertStats(idCategory, 2, 32, 2);
+    }
+
+    @Test
+    void reconcileLeavesAccurateAggregatesAlone() {
+        productService.saveProduct(TestData.product(idCategory, 10, 3));
+        categoryStatsService.reconcile();
+        CategoryStatsDTO before = categoryStatsService.findStatsByCategoryId(idCategory).orElseThrow();
+
+        categoryStatsService.reconcile();
+
+        assertThat(categoryStatsService.findStatsByCategoryId(idCategory).orElseThrow().getUpdatedAt()).isEqualTo(before.getUpdatedAt());
+    }
+
+    private void assertStats(Long id, long productCount, double stockValue, long lowStockCount) {
+        CategoryStatsDTO stats = categoryStatsService.findStatsByCategoryId(id).orElseThrow();
+        assertThat(stats.getProductCount()).as("product count").isEqualTo(productCount);
+        assertThat(stats.getStockValue()).as("stock value").isCloseTo(stockValue, within(1e-9));
+        assertThat(stats.getLowStockCount()).as("low stock count").isEqualTo(lowStockCount);
+    }
+
+    private static ProductBatchPatchDTO patch(Long idProduct, Double price, Integer totalQuantity) {
+        ProductBatchPatchDTO patch = new ProductBatchPatchDTO();
+        patch.setIdProduct(idProduct);
+        patch.setPrice(price);
+        patch.setTotalQuantity(totalQuantity);
+        return patch;
+    }
+}
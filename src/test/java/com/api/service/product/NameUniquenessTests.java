@@ -0,0 +1,116 @@
+package com.api.service.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.IntegrationTest;
+import com.api.TestData;
+import com.api.dto.product.CategoryDTO;
+import com.api.dto.product.ProductDTO;
+import com.api.exception.ApiException;
+import com.api.exception.ApiExceptionHandler;
+import com.api.exception.ErrorCode;
+
+@IntegrationTest
+class NameUniquenessTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void namesDifferingOnlyByCaseAreRejectedByTheDatabase() {
+        String name = TestData.uniqueName("Category");
+        jdbcTemplate.update("INSERT INTO category (name, description) VALUES (?, 'Inserted by a test')", name.toLowerCase());
+
+        assertThatThrownBy(() -> jdbcTemplate.update("INSERT INTO category (name, description) VALUES (?, 'Inserted by a test')", name.toUpperCase()))
+            .isInstanceOf(DuplicateKeyException.class)
+            .hasMessageContaining("uk_category_name_upper");
+    }
+
+    @Test
+    void serviceRejectsNameDifferingOnlyByCase() {
+        CategoryDTO category = categoryService.saveCategory(TestData.category());
+        ProductDTO product = TestData.product(category.getIdCategory(), 10, 1);
+        productService.saveProduct(product);
+
+        ProductDTO sameNameInUpperCase = TestData.product(category.getIdCategory(), 10, 1);
+        sameNameInUpperCase.setName(product.getName().toUpperCase());
+
+        assertThatThrownBy(() -> productService.saveProduct(sameNameInUpperCase))
+            .isInstanceOfSatisfying(ApiException.class,
+                e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.PRODUCT_NAME_CONFLICT));
+    }
+
+    @Test
+    void concurrentCreationsDifferingOnlyByCaseConflict() throws Exception {
+        Long idCategory = categoryService.saveCategory(TestData.category()).getIdCategory();
+        ProductDTO first = TestData.product(idCategory, 10, 1);
+        ProductDTO second = TestData.product(idCategory, 10, 1);
+        second.setName(first.getName().toUpperCase());
+        CountDownLatch firstInserted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+
+        CompletableFuture<Void> firstWrite = CompletableFuture.runAsync(() ->
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                productService.saveProduct(first);
+                firstInserted.countDown();
+                await(releaseFirst);
+            }));
+        await(firstInserted);
+        // The second request passes the name check, since the first one has not committed, and waits on the index
+        CompletableFuture<ProductDTO> secondWrite = CompletableFuture.supplyAsync(() -> productService.saveProduct(second));
+        awaitLockWait();
+        releaseFirst.countDown();
+        firstWrite.get(10, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> secondWrite.get(10, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .cause()
+            .isInstanceOfSatisfying(DataIntegrityViolationException.class, e ->
+                assertThat(new ApiExceptionHandler().handleDataIntegrityViolation(e).getBody().getCode())
+                    .isEqualTo(ErrorCode.PRODUCT_NAME_CONFLICT.name()));
+    }
+
+    private void awaitLockWait() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (jdbcTemplate.queryForObject("SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'", Integer.class) == 0) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("The second insert never waited on the first");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for the other transaction");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.api.service.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.IntegrationTest;
+import com.api.TestData;
+import com.api.dto.product.ProductChangesDTO;
+import com.api.dto.product.ProductDTO;
+import com.api.exception.ApiException;
+import com.api.exception.ErrorCode;
+
+@IntegrationTest
+class ProductChangesTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void fullSyncPagesThroughEveryProductAndHandsOverToDeltas() {
+        Long idCategory = categoryService.saveCategory(TestData.category()).getIdCategory();
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(productService.saveProduct(TestData.product(idCategory, 10, 1)).getIdProduct());
+        }
+
+        List<Long> synced = new ArrayList<>();
+        ProductChangesDTO page = productService.findProductChanges(null, 2);
+        while (true) {
+            assertThat(page.getChanged()).hasSizeLessThanOrEqualTo(2);
+            page.getChanged().forEach(productDTO -> synced.add(productDTO.getIdProduct()));
+            if (!page.isHasMore()) {
+                break;
+            }
+            page = productService.findProductChanges(page.getToken(), 2);
+        }
+        assertThat(synced).containsAll(created).doesNotHaveDuplicates();
+
+        // The last page's token continues with deltas from the moment the full sync started
+        ProductChangesDTO delta = productService.findProductChanges(page.getToken(), 100);
+        assertThat(delta.getChanged()).isEmpty();
+        assertThat(delta.getDeleted()).isEmpty();
+        assertThat(delta.getToken()).isEqualTo(page.getToken());
+    }
+
+    @Test
+    void deltaReturnsCurrentStateOfChangedAndDeletedProducts() {
+        Long idCategory = categoryService.saveCategory(TestData.category()).getIdCategory();
+        ProductDTO updated = productService.saveProduct(TestData.product(idCategory, 10, 1));
+        ProductDTO deleted = productService.saveProduct(TestData.product(idCategory, 20, 2));
+        String token = syncToEnd();
+
+        productService.updateProduct(updated.getIdProduct(), patchOf(11.0));
+        productService.updateProduct(updated.getIdProduct(), patchOf(12.0));
+        productService.deleteProduct(deleted.getIdProduct());
+
+        ProductChangesDTO delta = productService.findProductChanges(token, 100);
+        assertThat(delta.getChanged())
+            .singleElement()
+            .satisfies(productDTO -> {
+                assertThat(productDTO.getIdProduct()).isEqualTo(updated.getIdProduct());
+                assertThat(productDTO.getPrice()).isEqualTo(12.0);
+            });
+        assertThat(delta.getDeleted()).containsExactly(deleted.getIdProduct());
+        assertThat(delta.isHasMore()).isFalse();
+    }
+
+    @Test
+    void deltaPagesByEvent() {
+        Long idCategory = categoryService.saveCategory(TestData.category()).getIdCategory();
+        String token = syncToEnd();
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            created.add(productService.saveProduct(TestData.product(idCategory, 10, 1)).getIdProduct());
+        }
+
+        ProductChangesDTO first = productService.findProductChanges(token, 2);
+        ProductChangesDTO second = productService.findProductChanges(first.getToken(), 2);
+
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(first.getChanged()).extracting(ProductDTO::getIdProduct).containsExactlyElementsOf(created.subList(0, 2));
+        assertThat(second.getChanged()).extracting(ProductDTO::getIdProduct).containsExactly(created.get(2));
+    }
+
+    @Test
+    void changeCommittedAfterTheTokenWasIssuedIsNotMissed() throws Exception {
+        Long idCategory = categoryService.saveCategory(TestData.category()).getIdCategory();
+        ProductDTO product = productService.saveProduct(TestData.product(idCategory, 10, 1));
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch tokenIssued = new CountDownLatch(1);
+
+        // The update is stamped (updatedAt) before the token is issued but commits after it
+        CompletableFuture<Void> slowWrite = CompletableFuture.runAsync(() ->
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                productService.updateProduct(product.getIdProduct(), patchOf(99.0));
+                written.countDown();
+                await(tokenIssued);
+            }));
+        await(written);
+        String token = syncToEnd();
+        tokenIssued.countDown();
+        slowWrite.get(10, TimeUnit.SECONDS);
+
+        ProductChangesDTO delta = productService.findProductChanges(token, 100);
+        assertThat(delta.getChanged())
+            .filteredOn(productDTO -> productDTO.getIdProduct().equals(product.getIdProduct()))
+            .singleElement()
+            .extracting(ProductDTO::getPrice)
+            .isEqualTo(99.0);
+    }
+
+    @Test
+    void malformedTokenIsRejected() {
+        assertThatThrownBy(() -> productService.findProductChanges("2024-01-01T00:00:00Z", 10))
+            .isInstanceOfSatisfying(ApiException.class,
+                e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.INVALID_SYNC_TOKEN));
+    }
+
+    private String syncToEnd() {
+        ProductChangesDTO page = productService.findProductChanges(null, 1000);
+        while (page.isHasMore()) {
+            page = productService.findProductChanges(page.getToken(), 1000);
+        }
+        return page.getToken();
+    }
+
+    private static ProductDTO patchOf(double price) {
+        ProductDTO patch = new ProductDTO();
+        patch.setPrice(price);
+        return patch;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for the other transaction");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.api.service.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.api.cache.VersionedCache;
+import com.api.dto.product.ProductBatchDTO;
+import com.api.dto.product.ProductDTO;
+import com.api.model.product.Category;
+import com.api.model.product.Product;
+import com.api.repository.product.ProductRepository;
+
+class ProductMultiGetTests {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+
+    private final VersionedCache<ProductDTO> productCache = new VersionedCache<>(100);
+
+    private final ProductService productService = new ProductService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(productService, "productRepository", productRepository);
+        ReflectionTestUtils.setField(productService, "productCache", productCache);
+        ReflectionTestUtils.setField(productService, "multiGetChunkSize", CHUNK_SIZE);
+        productCache.setEnabled(true);
+        // the repository knows every even id and returns them in id order, as an IN query would
+        when(productRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            return StreamSupport.stream(ids.spliterator(), false)
+                    .filter(id -> id % 2 == 0)
+                    .sorted()
+                    .map(ProductMultiGetTests::product)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    @Test
+    void productsComeBackInRequestOrderWithMissingIdsListed() {
+        ProductBatchDTO batch = productService.findProductsByIds(List.of(8L, 3L, 2L, 6L, 8L, 5L));
+
+        assertThat(batch.getProducts()).extracting(ProductDTO::getIdProduct).containsExactly(8L, 2L, 6L);
+        assertThat(batch.getMissing()).containsExactly(3L, 5L);
+    }
+
+    @Test
+    void cachedProductsAreNotLoadedAgain() {
+        productService.findProductsByIds(List.of(2L, 4L));
+
+        ProductBatchDTO batch = productService.findProductsByIds(List.of(4L, 6L, 2L));
+
+        assertThat(batch.getProducts()).extracting(ProductDTO::getIdProduct).containsExactly(4L, 6L, 2L);
+        ArgumentCaptor<Iterable<Long>> chunks = idChunks(2);
+        assertThat(chunks.getAllValues().get(1)).containsExactly(6L);
+    }
+
+    @Test
+    void largeRequestsAreLoadedInChunks() {
+        List<Long> ids = LongStream.rangeClosed(1, 2500).boxed().collect(Collectors.toList());
+
+        ProductBatchDTO batch = productService.findProductsByIds(ids);
+
+        assertThat(batch.getProducts()).hasSize(1250);
+        assertThat(batch.getMissing()).hasSize(1250).startsWith(1L, 3L).endsWith(2499L);
+        List<Integer> chunkSizes = new ArrayList<>();
+        for (Iterable<Long> chunk : idChunks(3).getAllValues()) {
+            chunkSizes.add((int) StreamSupport.stream(chunk.spliterator(), false).count());
+        }
+        assertThat(chunkSizes).containsExactly(CHUNK_SIZE, CHUNK_SIZE, 500);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArgumentCaptor<Iterable<Long>> idChunks(int queries) {
+        ArgumentCaptor<Iterable<Long>> chunks = ArgumentCaptor.forClass(Iterable.class);
+        verify(productRepository, times(queries)).findAllById(chunks.capture());
+        return chunks;
+    }
+
+    private static Product product(Long id) {
+        Category category = new Category();
+        category.setIdCategory(1L);
+        Product product = new Product("Product " + id, "Description", 1, 1.0, category);
+        product.setIdProduct(id);
+        product.setVersion(0L);
+        return product;
+    }
+}
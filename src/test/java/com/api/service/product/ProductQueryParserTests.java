@@ -0,0 +1,80 @@
+package com.api.service.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import com.api.exception.ApiException;
+import com.api.exception.ErrorCode;
+
+class ProductQueryParserTests {
+
+    @Test
+    void acceptsEveryAllowedFieldAndOperator() {
+        assertThat(ProductQueryParser.parseFilter("idCategory:eq:3,idCategory:in:3|4,price:gte:10,price:lt:50.5,"
+                + "totalQuantity:lte:5,name:eq:Phone,name:prefix:iph,name:contains:hon")).isNotNull();
+        assertThat(ProductQueryParser.parseFilter(null)).isNotNull();
+        assertThat(ProductQueryParser.parseFilter(" ")).isNotNull();
+    }
+
+    @Test
+    void rejectsUnknownFields() {
+        assertInvalid(() -> ProductQueryParser.parseFilter("description:eq:foo"), "Unknown filter field 'description'");
+        assertInvalid(() -> ProductQueryParser.parseFilter("price:gt:1,createdAt:gt:2024"), "Unknown filter field 'createdAt'");
+    }
+
+    @Test
+    void rejectsOperatorsNotAllowedForTheField() {
+        assertInvalid(() -> ProductQueryParser.parseFilter("idCategory:gt:3"), "Unsupported operator 'gt' for idCategory");
+        assertInvalid(() -> ProductQueryParser.parseFilter("price:in:1|2"), "Unsupported operator 'in' for price");
+        assertInvalid(() -> ProductQueryParser.parseFilter("name:lt:abc"), "Unsupported operator 'lt' for name");
+    }
+
+    @Test
+    void rejectsMalformedClausesAndValues() {
+        assertInvalid(() -> ProductQueryParser.parseFilter("price:gt"), "got 'price:gt'");
+        assertInvalid(() -> ProductQueryParser.parseFilter("price:gt:"), "got 'price:gt:'");
+        assertInvalid(() -> ProductQueryParser.parseFilter("price:gt:1,,price:lt:2"), "got ''");
+        assertInvalid(() -> ProductQueryParser.parseFilter("price:gt:NaN"), "Invalid price value 'NaN'");
+        assertInvalid(() -> ProductQueryParser.parseFilter("idCategory:in:1|x"), "Invalid idCategory value 'x'");
+        assertInvalid(() -> ProductQueryParser.parseFilter("name:prefix:ab"), "at least 3 characters");
+    }
+
+    @Test
+    void rejectsFiltersOverTheLimits() {
+        assertInvalid(() -> ProductQueryParser.parseFilter("price:gt:1,".repeat(10) + "price:gt:1"), "At most 10 filter clauses");
+        assertInvalid(() -> ProductQueryParser.parseFilter("idCategory:in:" + "1|".repeat(100) + "1"), "At most 100 values");
+    }
+
+    @Test
+    void backslashEscapesCommasAndItself() {
+        // unescaped, the comma would start a second clause "b" and fail
+        assertInvalid(() -> ProductQueryParser.parseFilter("name:eq:a,b"), "got 'b'");
+        assertThat(ProductQueryParser.parseFilter("name:eq:a\\,b")).isNotNull();
+        assertThat(ProductQueryParser.parseFilter("name:contains:a\\\\b,price:gt:1")).isNotNull();
+        assertInvalid(() -> ProductQueryParser.parseFilter("name:eq:abc\\"), "unfinished escape");
+    }
+
+    @Test
+    void sortAppendsTheIdAsTiebreaker() {
+        assertThat(ProductQueryParser.parseSort("price,-name"))
+            .containsExactly(Sort.Order.asc("price"), Sort.Order.desc("name").ignoreCase(), Sort.Order.asc("idProduct"));
+        assertThat(ProductQueryParser.parseSort("-idProduct")).containsExactly(Sort.Order.desc("idProduct"));
+        assertThat(ProductQueryParser.parseSort(null)).containsExactly(Sort.Order.asc("idProduct"));
+    }
+
+    @Test
+    void rejectsUnknownSortKeys() {
+        assertInvalid(() -> ProductQueryParser.parseSort("description"), "Unknown sort key 'description'");
+        assertInvalid(() -> ProductQueryParser.parseSort("price,-createdAt"), "Unknown sort key 'createdAt'");
+        assertInvalid(() -> ProductQueryParser.parseSort("price,name,totalQuantity,idProduct"), "At most 3 sort keys");
+    }
+
+    private static void assertInvalid(Runnable parse, String message) {
+        assertThatThrownBy(parse::run)
+            .isInstanceOfSatisfying(ApiException.class, e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.INVALID_QUERY))
+            .hasMessageContaining(message);
+    }
+}
@@ -0,0 +1,36 @@
+package com.api.service.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.api.IntegrationTest;
+import com.api.TestData;
+import com.api.dto.product.ProductDTO;
+
+@IntegrationTest
+class ProductServiceTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Test
+    void productIsCreatedInAndMovedBetweenVersionedCategories() {
+        Long source = categoryService.saveCategory(TestData.category()).getIdCategory();
+        Long target = categoryService.saveCategory(TestData.category()).getIdCategory();
+        ProductDTO created = productService.saveProduct(TestData.product(source, 10, 1));
+
+        ProductDTO move = new ProductDTO();
+        move.setIdCategory(target);
+        productService.updateProduct(created.getIdProduct(), move);
+
+        assertThat(productService.findProductById(created.getIdProduct()))
+            .get()
+            .extracting(ProductDTO::getIdCategory)
+            .isEqualTo(target);
+    }
+}
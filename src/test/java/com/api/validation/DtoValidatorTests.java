@@ -0,0 +1,133 @@
+package com.api.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import com.api.config.ValidationConfig;
+import com.api.dto.product.CategoryDTO;
+import com.api.dto.product.ProductBatchPatchDTO;
+import com.api.dto.product.ProductDTO;
+import com.api.dto.product.ProductIdsDTO;
+
+import jakarta.validation.Validator;
+
+class DtoValidatorTests {
+
+    private static LocalValidatorFactoryBean validator;
+
+    @BeforeAll
+    static void createValidator() {
+        validator = ValidationConfig.defaultValidator();
+        validator.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void closeValidator() {
+        validator.close();
+    }
+
+    @Test
+    void missingFieldIsRejectedOnCreateAndAcceptedOnUpdate() {
+        ProductDTO productDTO = validProduct();
+        productDTO.setName(null);
+
+        assertThat(dtoValidator(Integer.MAX_VALUE).firstViolation(productDTO, OnCreate.class)).contains("Product name is required");
+        assertThat(dtoValidator(Integer.MAX_VALUE).firstViolation(productDTO, OnUpdate.class)).isEmpty();
+    }
+
+    @Test
+    void blankFieldIsRejectedOnUpdate() {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setName("   ");
+
+        assertThat(dtoValidator(Integer.MAX_VALUE).firstViolation(productDTO, OnUpdate.class)).isPresent();
+    }
+
+    @Test
+    void failFastReportsOnlyTheFirstViolation() {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setName("PS");
+        productDTO.setDescription("short");
+        productDTO.setTotalQuantity(-1);
+        productDTO.setPrice(0.0);
+
+        assertThat(validator.validate(productDTO, OnCreate.class)).hasSize(1);
+    }
+
+    @Test
+    void firstFailureReportsTheLowestInvalidIndex() {
+        List<ProductBatchPatchDTO> patches = List.of(patch(1L, 5, 10.0), patch(null, 5, 10.0), patch(3L, 5, 10.0), patch(4L, -1, 0.0));
+
+        for (int threshold : new int[] { Integer.MAX_VALUE, 1 }) {
+            ValidationFailure failure = dtoValidator(threshold).firstFailure(patches, OnUpdate.class).orElseThrow();
+
+            assertThat(failure.getIndex()).isEqualTo(1);
+            assertThat(failure.getMessage()).isEqualTo("Product id is required");
+        }
+        assertThat(dtoValidator(1).firstFailure(List.of(patch(1L, 5, 10.0), patch(2L, 5, 10.0)), OnUpdate.class)).isEmpty();
+    }
+
+    @Test
+    void firstFailureStopsValidatingAfterTheFirstInvalidElement() {
+        Validator countingValidator = spy(validator);
+        DtoValidator dtoValidator = new DtoValidator();
+        ReflectionTestUtils.setField(dtoValidator, "validator", countingValidator);
+        ReflectionTestUtils.setField(dtoValidator, "parallelThreshold", Integer.MAX_VALUE);
+        List<ProductBatchPatchDTO> patches = List.of(patch(1L, 5, 10.0), patch(null, 5, 10.0), patch(3L, 5, 10.0), patch(4L, -1, 0.0));
+
+        dtoValidator.firstFailure(patches, OnUpdate.class);
+
+        verify(countingValidator, times(2)).validate(any(), eq(OnUpdate.class));
+    }
+
+    @Test
+    void constraintMetadataIsPrecomputedForEveryValidatedType() {
+        Validator mockValidator = mock(Validator.class);
+        DtoValidator dtoValidator = new DtoValidator();
+        ReflectionTestUtils.setField(dtoValidator, "validator", mockValidator);
+
+        dtoValidator.precomputeConstraintMetadata();
+
+        for (Class<?> type : List.of(ProductDTO.class, CategoryDTO.class, ProductBatchPatchDTO.class, ProductIdsDTO.class)) {
+            verify(mockValidator).getConstraintsForClass(type);
+        }
+    }
+
+    private static DtoValidator dtoValidator(int parallelThreshold) {
+        DtoValidator dtoValidator = new DtoValidator();
+        ReflectionTestUtils.setField(dtoValidator, "validator", validator);
+        ReflectionTestUtils.setField(dtoValidator, "parallelThreshold", parallelThreshold);
+        return dtoValidator;
+    }
+
+    private static ProductDTO validProduct() {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setName("Sony PlayStation 5");
+        productDTO.setDescription("Sony PlayStation 5 console. 825 GB.");
+        productDTO.setTotalQuantity(3);
+        productDTO.setPrice(399.99);
+        productDTO.setIdCategory(3L);
+        return productDTO;
+    }
+
+    private static ProductBatchPatchDTO patch(Long idProduct, Integer totalQuantity, Double price) {
+        ProductBatchPatchDTO patch = new ProductBatchPatchDTO();
+        patch.setIdProduct(idProduct);
+        patch.setTotalQuantity(totalQuantity);
+        patch.setPrice(price);
+        return patch;
+    }
+}